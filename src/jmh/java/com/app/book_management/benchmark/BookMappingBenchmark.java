@@ -0,0 +1,65 @@
+package com.app.book_management.benchmark;
+
+import com.app.book_management.dto.BookPageResponseDto;
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.mapper.BookMapper;
+import com.app.book_management.mapper.BookMapperImpl;
+import com.app.book_management.model.Book;
+import com.app.book_management.perf.SyntheticCatalog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of in-memory book processing: rating aggregate calculation, MapStruct list mapping
+ * and JSON serialization of a page of books, the way Spring MVC serializes response bodies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int catalogSize;
+
+    @Param({"0", "10", "100"})
+    private int ratingsPerBook;
+
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Book> books;
+    private BookPageResponseDto page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        books = SyntheticCatalog.generateBooks(catalogSize, ratingsPerBook);
+        page = BookPageResponseDto.builder().books(bookMapper.booksToBookResponseDtos(books)).build();
+    }
+
+    @Benchmark
+    public void recalculateRatingAggregates(final Blackhole blackhole) {
+        for (final Book book : books) {
+            book.recalculateRatingAggregates();
+            blackhole.consume(book.getRoundedAverageRating());
+        }
+    }
+
+    @Benchmark
+    public List<BookResponseDto> mapBooksToResponseDtos() {
+        return bookMapper.booksToBookResponseDtos(books);
+    }
+
+    @Benchmark
+    public byte[] serializeBookPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,110 @@
+package com.app.book_management.benchmark;
+
+import com.app.book_management.BookManagementApplication;
+import com.app.book_management.dto.BookPageResponseDto;
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import com.app.book_management.perf.SyntheticCatalog;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of BookService list and filter paths against an in-memory H2 database
+ * populated with a generated catalog.
+ * Measures a single page of default size for every path, as requested by the controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    private static final int PAGE_LIMIT = 50;
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    @Param({"1", "20"})
+    private int ratingsPerBook;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        bookService = context.getBean(BookService.class);
+
+        final BookRepository bookRepository = context.getBean(BookRepository.class);
+        bookRepository.deleteAll();
+        final List<Book> books = SyntheticCatalog.generateBooks(catalogSize, ratingsPerBook);
+        for (int from = 0; from < books.size(); from += SAVE_BATCH_SIZE) {
+            bookRepository.saveAll(books.subList(from, Math.min(from + SAVE_BATCH_SIZE, books.size())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookPageResponseDto getAllBooks() throws ApplicationException {
+        return bookService.getAllBooks(null, PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public BookPageResponseDto getAllBooksListingFields() throws ApplicationException {
+        return bookService.getAllBooks(null, PAGE_LIMIT, "title,author,price");
+    }
+
+    @Benchmark
+    public BookPageResponseDto filterByAuthor() throws ApplicationException {
+        return bookService.filterByAuthor("Author 7", null, PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public BookPageResponseDto filterByTitle() throws ApplicationException {
+        return bookService.filterByTitle("Book 42", null, PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public BookPageResponseDto searchByKeyword() throws ApplicationException {
+        return bookService.searchByKeyword(SyntheticCatalog.KEYWORD, null, PAGE_LIMIT);
+    }
+
+    @Benchmark
+    public BookPageResponseDto filterInPriceRange() throws ApplicationException {
+        return bookService.filterInPriceRange(10.0, 20.0, null, PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public BookPageResponseDto filterByYear() throws ApplicationException {
+        return bookService.filterByYear(Year.of(1950), null, PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public BookPageResponseDto filterByGenre() throws ApplicationException {
+        return bookService.filterByGenre(Genre.FANTASY, null, PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public BookPageResponseDto filterBooksByRatings() throws ApplicationException {
+        return bookService.filterBooksByRatings(3, null, PAGE_LIMIT, null);
+    }
+}
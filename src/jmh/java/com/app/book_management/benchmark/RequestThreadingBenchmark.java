@@ -0,0 +1,94 @@
+package com.app.book_management.benchmark;
+
+import com.app.book_management.BookManagementApplication;
+import com.app.book_management.perf.SyntheticCatalog;
+import com.app.book_management.repository.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of request handling on platform threads against virtual threads.
+ * Starts the application on a random port, with H2 populated with a generated catalog,
+ * and sends concurrent HTTP requests to list endpoints which block on JDBC.
+ * Reports throughput and latency percentiles, including p99, with sample time mode.
+ * Virtual threads are only available on Java 21 or newer, run with "-jvm" pointing to such JVM to compare both modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int CATALOG_SIZE = 5000;
+    private static final int RATINGS_PER_BOOK = 5;
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI allBooksUri;
+    private URI byGenreUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer, current version is "
+                    + Runtime.version().feature());
+        }
+        context = new SpringApplicationBuilder(BookManagementApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "book-management.bulkhead.enabled=false",
+                        "spring.threads.virtual.enabled=" + virtualThreads)
+                .run();
+
+        final BookRepository bookRepository = context.getBean(BookRepository.class);
+        bookRepository.deleteAll();
+        final var books = SyntheticCatalog.generateBooks(CATALOG_SIZE, RATINGS_PER_BOOK);
+        for (int from = 0; from < books.size(); from += SAVE_BATCH_SIZE) {
+            bookRepository.saveAll(books.subList(from, Math.min(from + SAVE_BATCH_SIZE, books.size())));
+        }
+
+        final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/api/management/book";
+        allBooksUri = URI.create(baseUrl + "/?limit=50");
+        byGenreUri = URI.create(baseUrl + "/byGenre/FANTASY?limit=50");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getAllBooks() throws IOException, InterruptedException {
+        return send(allBooksUri);
+    }
+
+    @Benchmark
+    public String filterByGenre() throws IOException, InterruptedException {
+        return send(byGenreUri);
+    }
+
+    private String send(final URI uri) throws IOException, InterruptedException {
+        final HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " from " + uri);
+        }
+        return response.body();
+    }
+}
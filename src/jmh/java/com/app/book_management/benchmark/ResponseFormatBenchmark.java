@@ -0,0 +1,88 @@
+package com.app.book_management.benchmark;
+
+import com.app.book_management.dto.BookPageResponseDto;
+import com.app.book_management.mapper.BookMapperImpl;
+import com.app.book_management.perf.SyntheticCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks of encoding a page of books and decoding it into a tree, the way a client reads it,
+ * in every response format BookController negotiates, with mappers configured as in ResponseFormatConfig.
+ * JSON_GZIP is JSON compressed with the default deflate level, as the server compresses large JSON responses.
+ * Payload size of every format is printed once per trial, as JMH reports only times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    public enum Format {
+        JSON,
+        JSON_GZIP,
+        SMILE,
+        CBOR
+    }
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    @Param({"JSON", "JSON_GZIP", "SMILE", "CBOR"})
+    private Format format;
+
+    private ObjectMapper objectMapper;
+    private BookPageResponseDto page;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case JSON, JSON_GZIP -> Jackson2ObjectMapperBuilder.json().build();
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().factory(new SmileFactory()).build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().factory(new CBORFactory()).build();
+        };
+        page = BookPageResponseDto.builder()
+                .books(new BookMapperImpl().booksToBookResponseDtos(SyntheticCatalog.generateBooks(pageSize, 0)))
+                .nextCursor("NTAw")
+                .build();
+        payload = encode();
+        System.out.println(format + " payload of " + pageSize + " books: " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (format != Format.JSON_GZIP) {
+            return objectMapper.writeValueAsBytes(page);
+        }
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            objectMapper.writeValue(output, page);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        if (format != Format.JSON_GZIP) {
+            return objectMapper.readTree(payload);
+        }
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readTree(input);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.book_management.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of routes at a target rate with a fixed number of concurrent workers.
+ * Requests are scheduled at a constant interval from the start of a run, and each free worker takes the next slot.
+ * Latency is measured from the scheduled start of a request rather than from when it was sent,
+ * so when the application can not keep up, waiting for a free worker counts as latency instead of lowering the rate.
+ */
+final class LoadGenerator {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final long[] bookIds;
+    private final LoadTestOptions options;
+    private final LoadRoute[] weightedRoutes;
+
+    /**
+     * Creates load generator.
+     *
+     * @param httpClient client sending requests.
+     * @param baseUrl URL of BookController, without trailing slash.
+     * @param bookIds ids of all books of the synthetic catalog, in catalog order.
+     * @param options rate, concurrency, timeout and request mix to drive routes with.
+     */
+    LoadGenerator(final HttpClient httpClient, final String baseUrl, final long[] bookIds, final LoadTestOptions options) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.bookIds = bookIds;
+        this.options = options;
+        final List<LoadRoute> routes = new ArrayList<>();
+        options.getMix().forEach((route, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                routes.add(route);
+            }
+        });
+        this.weightedRoutes = routes.toArray(LoadRoute[]::new);
+    }
+
+    /**
+     * Drives routes for provided period and waits for all requests to complete.
+     *
+     * @param period length of the run.
+     * @return stats of requests by route, including routes without requests.
+     * @throws InterruptedException if interrupted while waiting for workers.
+     */
+    Map<LoadRoute, RouteStats> run(final Duration period) throws InterruptedException {
+        final Map<LoadRoute, RouteStats> stats = new EnumMap<>(LoadRoute.class);
+        for (final LoadRoute route : LoadRoute.values()) {
+            stats.put(route, new RouteStats());
+        }
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRps();
+        final long start = System.nanoTime();
+        final long end = start + period.toNanos();
+        final AtomicLong slots = new AtomicLong();
+
+        final ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency());
+        for (int worker = 0; worker < options.getConcurrency(); worker++) {
+            final Random random = new Random(options.getSeed() + worker);
+            workers.execute(() -> {
+                long scheduled;
+                while ((scheduled = start + slots.getAndIncrement() * intervalNanos) - end < 0) {
+                    awaitSlot(scheduled);
+                    final LoadRoute route = weightedRoutes[random.nextInt(weightedRoutes.length)];
+                    final RequestOutcome outcome = send(route, random);
+                    stats.get(route).record(System.nanoTime() - scheduled, outcome);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(period.plus(options.getTimeout()).toSeconds() + 1, TimeUnit.SECONDS);
+        return stats;
+    }
+
+    private RequestOutcome send(final LoadRoute route, final Random random) {
+        try {
+            final HttpResponse<Void> response = httpClient.send(
+                    route.request(baseUrl, bookIds, random).timeout(options.getTimeout()).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return RequestOutcome.of(response.statusCode());
+        } catch (IOException e) {
+            return RequestOutcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RequestOutcome.ERROR;
+        }
+    }
+
+    private static void awaitSlot(final long scheduled) {
+        long remaining;
+        while ((remaining = scheduled - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.app.book_management.loadtest;
+
+import com.app.book_management.model.Genre;
+import com.app.book_management.perf.SyntheticCatalog;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Routes of BookController driven by load tests.
+ * Each route builds a request for random values known to exist in the synthetic catalog,
+ * and has a default weight in the request mix.
+ */
+enum LoadRoute {
+
+    GET_BY_ID("getById", 30) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/" + randomId(bookIds, random));
+        }
+    },
+    GET_ALL("getAll", 10) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/");
+        }
+    },
+    BY_AUTHOR("byAuthor", 10) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/byAuthor/" + encode("Author " + existingValue(SyntheticCatalog.AUTHORS, bookIds, random)));
+        }
+    },
+    BY_TITLE("byTitle", 5) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/byTitle/" + encode("Book " + random.nextInt(bookIds.length)));
+        }
+    },
+    BY_KEYWORD("byKeyword", 10) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/byKeyword/" + SyntheticCatalog.SUBJECTS[random.nextInt(SyntheticCatalog.SUBJECTS.length)]);
+        }
+    },
+    SEARCH("search", 10) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            final double minPrice = SyntheticCatalog.MIN_PRICE + existingValue(SyntheticCatalog.PRICES, bookIds, random);
+            return get(baseUrl + "/search?genre=" + randomGenre(bookIds, random) + "&minPrice=" + minPrice
+                    + "&maxPrice=" + (minPrice + 10) + "&sort=PRICE&direction=DESC");
+        }
+    },
+    PRICE_RANGE("priceRange", 5) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            final double minPrice = SyntheticCatalog.MIN_PRICE + existingValue(SyntheticCatalog.PRICES, bookIds, random);
+            return get(baseUrl + "/priceRange?minPrice=" + minPrice + "&maxPrice=" + (minPrice + 5));
+        }
+    },
+    BY_YEAR("byYear", 5) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/byYear/" + (SyntheticCatalog.FIRST_YEAR + existingValue(SyntheticCatalog.YEARS, bookIds, random)));
+        }
+    },
+    BY_GENRE("byGenre", 5) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/byGenre/" + randomGenre(bookIds, random));
+        }
+    },
+    BY_RATING("byRating", 5) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return get(baseUrl + "/rating/" + (1 + random.nextInt(5)));
+        }
+    },
+    RATE("rate", 5) {
+        @Override
+        HttpRequest.Builder request(final String baseUrl, final long[] bookIds, final Random random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/rate/" + randomId(bookIds, random)))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.valueOf(1 + random.nextInt(5))));
+        }
+    };
+
+    private static final Genre[] GENRES = Genre.values();
+
+    private final String routeName;
+    private final int defaultWeight;
+
+    LoadRoute(final String routeName, final int defaultWeight) {
+        this.routeName = routeName;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Builds a request of this route.
+     *
+     * @param baseUrl URL of BookController, without trailing slash.
+     * @param bookIds ids of all books of the synthetic catalog, in catalog order.
+     * @param random source of requested values.
+     * @return request builder, with timeout still to be set.
+     */
+    abstract HttpRequest.Builder request(String baseUrl, long[] bookIds, Random random);
+
+    String getRouteName() {
+        return routeName;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Finds a route by its name used in request mix.
+     *
+     * @param routeName name of the route.
+     * @return route with provided name.
+     * @throws IllegalArgumentException if there is no route with provided name.
+     */
+    static LoadRoute byName(final String routeName) {
+        for (final LoadRoute route : values()) {
+            if (route.routeName.equals(routeName)) {
+                return route;
+            }
+        }
+        throw new IllegalArgumentException("Unknown route: " + routeName);
+    }
+
+    private static HttpRequest.Builder get(final String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static long randomId(final long[] bookIds, final Random random) {
+        return bookIds[random.nextInt(bookIds.length)];
+    }
+
+    /**
+     * Draws one of the first values of an attribute, which exist in catalogs smaller than the number of values.
+     */
+    private static int existingValue(final int values, final long[] bookIds, final Random random) {
+        return random.nextInt(Math.min(values, bookIds.length));
+    }
+
+    private static Genre randomGenre(final long[] bookIds, final Random random) {
+        return GENRES[existingValue(GENRES.length, bookIds, random)];
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,133 @@
+package com.app.book_management.loadtest;
+
+import com.app.book_management.BookManagementApplication;
+import com.app.book_management.model.Book;
+import com.app.book_management.perf.SyntheticCatalog;
+import com.app.book_management.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test harness of BookController.
+ * Boots the application on a random port against the embedded H2 database configured for tests,
+ * seeds it with a synthetic catalog, drives a weighted mix of routes at a target rate after a warmup,
+ * and writes throughput and latency percentiles per route to a JSON report.
+ * Run with: mvn -Pload-test verify -Dload-test.args="--rps=500 --concurrency=64 --duration=2m"
+ */
+public final class LoadTest {
+
+    private static final String BOOK_PATH = "/api/management/book";
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookManagementApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run()) {
+            final long[] bookIds = seedCatalog(context.getBean(BookRepository.class), options);
+            final int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            final HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(options.getTimeout())
+                    .build();
+            final LoadGenerator generator = new LoadGenerator(httpClient, "http://localhost:" + port + BOOK_PATH, bookIds, options);
+
+            System.out.printf("Warming up for %s at %d rps%n", options.getWarmup(), options.getRps());
+            generator.run(options.getWarmup());
+            System.out.printf("Measuring for %s at %d rps with %d workers%n", options.getDuration(), options.getRps(),
+                    options.getConcurrency());
+            final Instant startedAt = Instant.now();
+            final Map<LoadRoute, RouteStats> stats = generator.run(options.getDuration());
+
+            final LoadTestReport report = report(options, startedAt, stats);
+            writeReport(report, options);
+            printReport(report);
+        }
+    }
+
+    private static long[] seedCatalog(final BookRepository bookRepository, final LoadTestOptions options) {
+        System.out.printf("Seeding catalog of %d books%n", options.getCatalogSize());
+        bookRepository.deleteAll();
+        final List<Book> books = SyntheticCatalog.generateBooks(options.getCatalogSize(), options.getRatingsPerBook(),
+                options.getSeed());
+        final long[] bookIds = new long[books.size()];
+        for (int from = 0; from < books.size(); from += SAVE_BATCH_SIZE) {
+            final List<Book> saved = bookRepository.saveAll(books.subList(from, Math.min(from + SAVE_BATCH_SIZE, books.size())));
+            for (int i = 0; i < saved.size(); i++) {
+                bookIds[from + i] = saved.get(i).getId();
+            }
+        }
+        return bookIds;
+    }
+
+    private static LoadTestReport report(final LoadTestOptions options, final Instant startedAt,
+                                         final Map<LoadRoute, RouteStats> stats) {
+        final double elapsedSeconds = seconds(options.getDuration());
+        final RouteStats total = new RouteStats();
+        final Map<String, LoadTestReport.RouteSummary> routes = new LinkedHashMap<>();
+        final Map<String, Integer> mix = new LinkedHashMap<>();
+        stats.forEach((route, routeStats) -> {
+            final int weight = options.getMix().get(route);
+            if (weight > 0) {
+                mix.put(route.getRouteName(), weight);
+                routes.put(route.getRouteName(), routeStats.summarize(elapsedSeconds));
+                total.add(routeStats);
+            }
+        });
+        return LoadTestReport.builder()
+                .startedAt(startedAt)
+                .catalogSize(options.getCatalogSize())
+                .ratingsPerBook(options.getRatingsPerBook())
+                .targetRps(options.getRps())
+                .concurrency(options.getConcurrency())
+                .warmupSeconds(seconds(options.getWarmup()))
+                .durationSeconds(elapsedSeconds)
+                .mix(mix)
+                .total(total.summarize(elapsedSeconds))
+                .routes(routes)
+                .build();
+    }
+
+    private static void writeReport(final LoadTestReport report, final LoadTestOptions options) throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        if (options.getOutput().getParent() != null) {
+            Files.createDirectories(options.getOutput().getParent());
+        }
+        objectMapper.writeValue(options.getOutput().toFile(), report);
+        System.out.printf("Report written to %s%n", options.getOutput().toAbsolutePath());
+    }
+
+    private static void printReport(final LoadTestReport report) {
+        System.out.printf("%-12s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+                "route", "requests", "errors", "shed", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        report.getRoutes().forEach((route, summary) -> printSummary(route, summary));
+        printSummary("total", report.getTotal());
+    }
+
+    private static void printSummary(final String route, final LoadTestReport.RouteSummary summary) {
+        System.out.printf("%-12s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", route, summary.getRequests(),
+                summary.getErrors(), summary.getShed(), summary.getThroughput(), summary.getP50(), summary.getP95(), summary.getP99(),
+                summary.getMax());
+    }
+
+    private static double seconds(final Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.app.book_management.loadtest;
+
+import com.app.book_management.perf.SyntheticCatalog;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, parsed from "--name=value" command line arguments.
+ * Request mix is given as comma separated "route:weight" pairs, e.g. "--mix=getById:80,rate:20",
+ * and durations in Spring Boot format, e.g. "--duration=2m".
+ */
+final class LoadTestOptions {
+
+    private int catalogSize = 10_000;
+    private int ratingsPerBook = 5;
+    private long seed = SyntheticCatalog.DEFAULT_SEED;
+    private int rps = 200;
+    private int concurrency = 32;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration timeout = Duration.ofSeconds(10);
+    private Path output = Path.of("target", "load-test", "report.json");
+    private final Map<LoadRoute, Integer> mix = new EnumMap<>(LoadRoute.class);
+
+    private LoadTestOptions() {
+        for (final LoadRoute route : LoadRoute.values()) {
+            mix.put(route, route.getDefaultWeight());
+        }
+    }
+
+    /**
+     * Parses options from command line arguments, options which are not provided keep their defaults.
+     *
+     * @param args command line arguments.
+     * @return parsed options.
+     * @throws IllegalArgumentException if an argument is unknown or malformed.
+     */
+    static LoadTestOptions parse(final String[] args) {
+        final LoadTestOptions options = new LoadTestOptions();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value argument, got: " + arg);
+            }
+            final String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "catalog-size" -> options.catalogSize = positive(arg, Integer.parseInt(value));
+                case "ratings-per-book" -> options.ratingsPerBook = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "rps" -> options.rps = positive(arg, Integer.parseInt(value));
+                case "concurrency" -> options.concurrency = positive(arg, Integer.parseInt(value));
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "timeout" -> options.timeout = DurationStyle.detectAndParse(value);
+                case "output" -> options.output = Path.of(value);
+                case "mix" -> options.parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+
+    private void parseMix(final String value) {
+        mix.replaceAll((route, weight) -> 0);
+        for (final String entry : value.split(",")) {
+            final String[] routeAndWeight = entry.trim().split(":");
+            if (routeAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected route:weight in mix, got: " + entry);
+            }
+            mix.put(LoadRoute.byName(routeAndWeight[0]), Integer.parseInt(routeAndWeight[1]));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Request mix must have a positive total weight: " + value);
+        }
+    }
+
+    private static int positive(final String arg, final int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Option must be positive: " + arg);
+        }
+        return value;
+    }
+
+    int getCatalogSize() {
+        return catalogSize;
+    }
+
+    int getRatingsPerBook() {
+        return ratingsPerBook;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int getRps() {
+        return rps;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    Path getOutput() {
+        return output;
+    }
+
+    Map<LoadRoute, Integer> getMix() {
+        return Collections.unmodifiableMap(mix);
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.book_management.loadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load test run, written as JSON.
+ * Throughput is in requests per second and latencies are in milliseconds,
+ * measured from the scheduled start of each request, so time spent waiting for a free worker is included.
+ */
+@Data
+@Builder
+class LoadTestReport {
+
+    private Instant startedAt;
+    private int catalogSize;
+    private int ratingsPerBook;
+    private int targetRps;
+    private int concurrency;
+    private double warmupSeconds;
+    private double durationSeconds;
+    private Map<String, Integer> mix;
+    private RouteSummary total;
+    private Map<String, RouteSummary> routes;
+
+    /**
+     * Summary of requests of a route.
+     * Shed requests were rejected by a bulkhead with 503 Service Unavailable,
+     * errors are requests answered with any other status of 400 or above, or not answered at all.
+     */
+    @Data
+    @Builder
+    static class RouteSummary {
+
+        private long requests;
+        private long errors;
+        private long shed;
+        private double throughput;
+        private double p50;
+        private double p95;
+        private double p99;
+        private double max;
+    }
+}
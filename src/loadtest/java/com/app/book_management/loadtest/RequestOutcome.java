@@ -0,0 +1,35 @@
+package com.app.book_management.loadtest;
+
+/**
+ * Outcome of a request sent by the load generator.
+ */
+enum RequestOutcome {
+
+    /**
+     * Answered with a status below 400.
+     */
+    SUCCESS,
+
+    /**
+     * Rejected by a bulkhead with 503 Service Unavailable, as the route was at its concurrency limit.
+     */
+    SHED,
+
+    /**
+     * Answered with any other status of 400 or above, or not answered at all.
+     */
+    ERROR;
+
+    /**
+     * Classifies a response status.
+     *
+     * @param status HTTP status of the response.
+     * @return outcome of the request.
+     */
+    static RequestOutcome of(final int status) {
+        if (status == 503) {
+            return SHED;
+        }
+        return status < 400 ? SUCCESS : ERROR;
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.book_management.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of requests of a single route, recorded concurrently by load generator workers.
+ * Latencies are recorded in microseconds with three significant digits.
+ */
+final class RouteStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos time from the scheduled start of the request until its response was received.
+     * @param outcome whether the request succeeded, was shed by a bulkhead or failed.
+     */
+    void record(final long latencyNanos, final RequestOutcome outcome) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (outcome == RequestOutcome.ERROR) {
+            errors.increment();
+        } else if (outcome == RequestOutcome.SHED) {
+            shed.increment();
+        }
+    }
+
+    /**
+     * Adds recorded requests of another route, used to summarize all routes.
+     *
+     * @param other stats of another route.
+     */
+    void add(final RouteStats other) {
+        latencies.add(other.latencies);
+        errors.add(other.errors.sum());
+        shed.add(other.shed.sum());
+    }
+
+    /**
+     * Summarizes recorded requests.
+     *
+     * @param elapsedSeconds length of the measured period.
+     * @return summary of requests with latencies in milliseconds.
+     */
+    LoadTestReport.RouteSummary summarize(final double elapsedSeconds) {
+        return LoadTestReport.RouteSummary.builder()
+                .requests(latencies.getTotalCount())
+                .errors(errors.sum())
+                .shed(shed.sum())
+                .throughput(latencies.getTotalCount() / elapsedSeconds)
+                .p50(millis(latencies.getValueAtPercentile(50)))
+                .p95(millis(latencies.getValueAtPercentile(95)))
+                .p99(millis(latencies.getValueAtPercentile(99)))
+                .max(millis(latencies.getMaxValue()))
+                .build();
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+}
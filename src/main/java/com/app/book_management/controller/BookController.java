@@ -1,41 +1,72 @@
 package com.app.book_management.controller;
 
+import com.app.book_management.dto.BookImportReportDto;
+import com.app.book_management.dto.BookPageResponseDto;
 import com.app.book_management.dto.BookRequestDto;
 import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
+import com.app.book_management.dto.BookSuggestionDto;
 import com.app.book_management.exception.ApplicationException;
 import com.app.book_management.model.Genre;
+import com.app.book_management.service.BookExportService;
+import com.app.book_management.service.BookImportService;
 import com.app.book_management.service.BookService;
+import com.app.book_management.service.CatalogVersionService;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Year;
 import java.util.List;
 
 /**
  * Controller for managing book-related operations in the application.
  * Provides endpoints for adding, retrieving, filtering, and rating books.
+ * Endpoints returning lists of books are keyset paginated with "limit" and "after" request parameters.
+ * Endpoints retrieving books are tagged with ETags of catalog, book or leaderboard version,
+ * and requests with matching "If-None-Match" header are answered with 304 Not Modified without retrieving books.
+ * Endpoints retrieving books by id or by filter return only the fields listed in "fields" request parameter, if it is present.
+ * Responses are negotiated by "Accept" header as JSON, CBOR or Smile, as configured in ResponseFormatConfig.
  */
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/management/book")
 public class BookController {
 
+    private static final String DEFAULT_PAGE_LIMIT = "50";
+    private static final String DEFAULT_SUGGESTION_LIMIT = "10";
+    private static final String DEFAULT_TOP_BOOKS = "10";
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final CatalogVersionService catalogVersionService;
 
     /**
      * Retrieves a book by its id.
      *
      * @param id the id of the book to be retrieved
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
      * @return ResponseEntity containing the book details as a BookResponseDto
-     *         and HTTP status 200 OK
-     * @throws ApplicationException if the book with the specified ID is not found
+     *         and HTTP status 200 OK, or null if the book was not modified and 304 Not Modified is sent
+     * @throws ApplicationException if the book with the specified ID is not found or fields are unknown
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponseDto> getById(@PathVariable final Long id) throws ApplicationException {
-        final var book = bookService.getById(id);
+    public ResponseEntity<BookResponseDto> getById(@PathVariable final Long id,
+                                                   @RequestParam(required = false) final String fields,
+                                                   final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getBookETag(id))) {
+            return null;
+        }
+        final var book = fields == null ? bookService.getById(id) : bookService.getById(id, fields);
         return ResponseEntity.status(HttpStatus.OK).body(book);
     }
 
@@ -53,6 +84,32 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body("{\"message\":\"Book successfully created\"}");
     }
 
+    /**
+     * Imports books in bulk from a JSON array or newline delimited JSON stream of book requests.
+     * The body is streamed and books are written in batches, so imports of any size use constant memory.
+     *
+     * @param body the request body containing BookRequestDto records
+     * @return ResponseEntity containing the import report with per-record errors and HTTP status 200 OK
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BookImportReportDto> importBooks(final InputStream body) throws IOException {
+        final var report = bookImportService.importBooks(body);
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    /**
+     * Exports all books as newline delimited JSON, one BookResponseDto per line ordered by id.
+     * Books are written to the response as they are read from the database, so exports of any size use constant memory.
+     *
+     * @return ResponseEntity streaming all books and HTTP status 200 OK
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        final StreamingResponseBody body = bookExportService::exportBooks;
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Deletes a book by its id.
      *
@@ -70,12 +127,23 @@ public class BookController {
     /**
      * Retrieves a list of all books in the system.
      *
-     * @return ResponseEntity containing a list of BookResponseDto objects and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if there is an error while retrieving the books
      */
     @GetMapping("/")
-    public ResponseEntity<List<BookResponseDto>> getAllBooks() throws ApplicationException {
-        final var books = bookService.getAllBooks();
+    public ResponseEntity<BookPageResponseDto> getAllBooks(@RequestParam(required = false) final String after,
+                                                           @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                           @RequestParam(required = false) final String fields,
+                                                           final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.getAllBooks(after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
@@ -83,12 +151,24 @@ public class BookController {
      * Filters and retrieves books by a specific author.
      *
      * @param author the name of the author whose books are to be retrieved
-     * @return ResponseEntity containing a list of BookResponseDto objects filtered by the author and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects filtered by the author and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering and author does not pass the validation
      */
     @GetMapping("/byAuthor/{author}")
-    public ResponseEntity<List<BookResponseDto>> filterByAuthor(@PathVariable final String author) throws ApplicationException {
-        final var books = bookService.filterByAuthor(author);
+    public ResponseEntity<BookPageResponseDto> filterByAuthor(@PathVariable final String author,
+                                                              @RequestParam(required = false) final String after,
+                                                              @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                              @RequestParam(required = false) final String fields,
+                                                              final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.filterByAuthor(author, after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
@@ -96,12 +176,90 @@ public class BookController {
      * Searches and retrieves books based on a keyword found in their titles or descriptions.
      *
      * @param keyword the keyword used for searching books
-     * @return ResponseEntity containing a list of BookResponseDto objects that match the keyword and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects that match the keyword and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering and keyword does not pass the validation
      */
     @GetMapping("/byKeyword/{keyword}")
-    public ResponseEntity<List<BookResponseDto>> searchByKeyword(@PathVariable final String keyword) throws ApplicationException {
-        final var books = bookService.searchByKeyword(keyword);
+    public ResponseEntity<BookPageResponseDto> searchByKeyword(@PathVariable final String keyword,
+                                                               @RequestParam(required = false) final String after,
+                                                               @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                               final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.searchByKeyword(keyword, after, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(books);
+    }
+
+    /**
+     * Searches and retrieves books matching any combination of criteria with a single query.
+     *
+     * @param criteria optional author, title, keyword, genre, year range, price range and minimal rating,
+     *                 with sort field and direction
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects matching all criteria and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
+     * @throws ApplicationException if criteria, limit or cursor does not pass the validation
+     */
+    @GetMapping("/search")
+    public ResponseEntity<BookPageResponseDto> searchBooks(@ParameterObject final BookSearchCriteriaDto criteria,
+                                                           @RequestParam(required = false) final String after,
+                                                           @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                           final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.searchBooks(criteria, after, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(books);
+    }
+
+    /**
+     * Suggests distinct titles and authors of books starting with a prefix, ignoring case, for autocomplete.
+     * Suggestions are answered from memory, without querying the database.
+     *
+     * @param prefix the beginning of a title or author
+     * @param limit the maximum number of suggestions
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a list of BookSuggestionDto objects in alphabetical order and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
+     * @throws ApplicationException if prefix or limit does not pass the validation
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BookSuggestionDto>> suggest(@RequestParam final String prefix,
+                                                           @RequestParam(defaultValue = DEFAULT_SUGGESTION_LIMIT) final Integer limit,
+                                                           final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var suggestions = bookService.suggest(prefix, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(suggestions);
+    }
+
+    /**
+     * Retrieves the best rated books of a genre, ordered by average rating and number of ratings.
+     * Books are answered from in-memory leaderboards, without querying the database.
+     *
+     * @param genre the genre of the books to be retrieved
+     * @param count the maximum number of books
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a list of BookResponseDto objects without description and HTTP status 200 OK,
+     *         or null if no top book was modified and 304 Not Modified is sent
+     * @throws ApplicationException if count does not pass the validation
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<BookResponseDto>> getTopBooks(@RequestParam final Genre genre,
+                                                             @RequestParam(name = "n", defaultValue = DEFAULT_TOP_BOOKS) final Integer count,
+                                                             final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getLeaderboardETag())) {
+            return null;
+        }
+        final var books = bookService.getTopBooks(genre, count);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
@@ -109,12 +267,24 @@ public class BookController {
      * Filters and retrieves books by their title.
      *
      * @param title the title of the books to be filtered
-     * @return ResponseEntity containing a list of BookResponseDto objects that match the given title and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects that match the given title and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering or title does not pass the validation
      */
     @GetMapping("/byTitle/{title}")
-    public ResponseEntity<List<BookResponseDto>> filterByTitle(@PathVariable final String title) throws ApplicationException {
-        final var books = bookService.filterByTitle(title);
+    public ResponseEntity<BookPageResponseDto> filterByTitle(@PathVariable final String title,
+                                                             @RequestParam(required = false) final String after,
+                                                             @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                             @RequestParam(required = false) final String fields,
+                                                             final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.filterByTitle(title, after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
@@ -123,12 +293,24 @@ public class BookController {
      *
      * @param minPrice the minimum price of the books to be retrieved
      * @param maxPrice the maximum price of the books to be retrieved
-     * @return ResponseEntity containing a list of BookResponseDto objects within the specified price range and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects within the specified price range and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering or prices does not pass the validation
      */
     @GetMapping("/priceRange")
-    public ResponseEntity<List<BookResponseDto>> filterInPriceRange(@RequestParam final Double minPrice, @RequestParam final Double maxPrice) throws ApplicationException {
-        final var books = bookService.filterInPriceRange(minPrice, maxPrice);
+    public ResponseEntity<BookPageResponseDto> filterInPriceRange(@RequestParam final Double minPrice, @RequestParam final Double maxPrice,
+                                                                  @RequestParam(required = false) final String after,
+                                                                  @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                                  @RequestParam(required = false) final String fields,
+                                                                  final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.filterInPriceRange(minPrice, maxPrice, after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
@@ -136,12 +318,24 @@ public class BookController {
      * Filters and retrieves books published in a specified year.
      *
      * @param year the year in which the books were published
-     * @return ResponseEntity containing a list of BookResponseDto objects published in the specified year and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects published in the specified year and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering or year does not pass the validation
      */
     @GetMapping("/byYear/{year}")
-    public ResponseEntity<List<BookResponseDto>> filterByYear(@PathVariable final Year year) throws ApplicationException {
-        final var books = bookService.filterByYear(year);
+    public ResponseEntity<BookPageResponseDto> filterByYear(@PathVariable final Year year,
+                                                            @RequestParam(required = false) final String after,
+                                                            @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                            @RequestParam(required = false) final String fields,
+                                                            final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.filterByYear(year, after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
@@ -149,25 +343,43 @@ public class BookController {
      * Filters and retrieves books by a specified genre.
      *
      * @param genre the genre of the books to be retrieved
-     * @return ResponseEntity containing a list of BookResponseDto objects that match the specified genre and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects that match the specified genre and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering or genre does not pass the validation
      */
     @GetMapping("/byGenre/{genre}")
-    public ResponseEntity<List<BookResponseDto>> filterByGenre(@PathVariable final Genre genre) throws ApplicationException {
-        final var books = bookService.filterByGenre(genre);
+    public ResponseEntity<BookPageResponseDto> filterByGenre(@PathVariable final Genre genre,
+                                                             @RequestParam(required = false) final String after,
+                                                             @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                             @RequestParam(required = false) final String fields,
+                                                             final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.filterByGenre(genre, after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 
     /**
      * Rates a book with a specified rating.
+     * When rating buffering is enabled, the rating is written in the background and HTTP status 202 Accepted is returned.
      *
      * @param bookId the ID of the book to be rated
      * @param rating the rating to be assigned to the book
-     * @return ResponseEntity with a success message in JSON format and HTTP status 200 OK
-     * @throws ApplicationException if book by the specified id is not found or rating does not pass the validation
+     * @return ResponseEntity with a success message in JSON format and HTTP status 200 OK, or 202 Accepted if buffered
+     * @throws ApplicationException if book by the specified id is not found or rating does not pass the validation,
+     *                              or the rating buffer is full
      */
     @PostMapping("/rate/{bookId}")
     public ResponseEntity<String> rateBook(@PathVariable final Long bookId, @RequestBody Integer rating) throws ApplicationException {
+        if (bookService.isRatingBuffered()) {
+            bookService.bufferRating(bookId, rating);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).contentType(MediaType.APPLICATION_JSON).body("{\"message\":\"Book rating accepted\"}");
+        }
         bookService.rateBook(bookId, rating);
         return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body("{\"message\":\"Book successfully rated\"}");
     }
@@ -176,12 +388,24 @@ public class BookController {
      * Retrieves a list of books that match a specified rating.
      *
      * @param rating the rating used to filter the books
-     * @return ResponseEntity containing a list of BookResponseDto objects that match the specified rating and HTTP status 200 OK
+     * @param after the cursor of the previous page, or absent to retrieve the first page
+     * @param limit the maximum number of books in a page
+     * @param fields comma separated names of fields to return, or absent to return all fields
+     * @param request the current request, checked for a matching "If-None-Match" header
+     * @return ResponseEntity containing a page of BookResponseDto objects that match the specified rating and HTTP status 200 OK,
+     *         or null if no book was modified and 304 Not Modified is sent
      * @throws ApplicationException if zero books is found for filtering or rating does not pass the validation
      */
     @GetMapping("/rating/{rating}")
-    public ResponseEntity<List<BookResponseDto>> getBooksByRating(@PathVariable final Integer rating) throws ApplicationException {
-        final var books = bookService.filterBooksByRatings(rating);
+    public ResponseEntity<BookPageResponseDto> getBooksByRating(@PathVariable final Integer rating,
+                                                                @RequestParam(required = false) final String after,
+                                                                @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT) final Integer limit,
+                                                                @RequestParam(required = false) final String fields,
+                                                                final WebRequest request) throws ApplicationException {
+        if (request.checkNotModified(catalogVersionService.getCatalogETag())) {
+            return null;
+        }
+        final var books = bookService.filterBooksByRatings(rating, after, limit, fields);
         return ResponseEntity.status(HttpStatus.OK).body(books);
     }
 }
@@ -0,0 +1,18 @@
+package com.app.book_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object class for representing an error of a single record in a bulk book import.
+ */
+@Data
+@AllArgsConstructor
+public class BookImportErrorDto {
+
+    /**
+     * Zero based position of the record in the imported array or NDJSON stream.
+     */
+    private long record;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.app.book_management.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object class for representing the result of a bulk book import.
+ * Contains numbers of imported and failed records, and errors of failed records.
+ */
+@Data
+@Builder
+public class BookImportReportDto {
+
+    private long imported;
+    private long failed;
+    private boolean aborted;
+    private List<BookImportErrorDto> errors;
+}
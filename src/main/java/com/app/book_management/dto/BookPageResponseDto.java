@@ -0,0 +1,19 @@
+package com.app.book_management.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object class for representing a single page of books in responses.
+ * Contains an opaque cursor, which should be passed as the "after" parameter to retrieve the next page,
+ * or null if this is the last page.
+ */
+@Data
+@Builder
+public class BookPageResponseDto {
+
+    private List<BookResponseDto> books;
+    private String nextCursor;
+}
@@ -1,6 +1,8 @@
 package com.app.book_management.dto;
 
 import com.app.book_management.model.Genre;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,9 +10,13 @@ import java.time.Year;
 
 /**
  * Data Transfer Object class for representing book information in responses.
+ * All arguments constructor is used by BookRepository projection queries.
+ * Null fields are not serialized, so books restricted to selected fields contain only those fields.
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Builder
+@AllArgsConstructor
 public class BookResponseDto {
 
     private Long id;
@@ -0,0 +1,29 @@
+package com.app.book_management.dto;
+
+import com.app.book_management.model.BookSortField;
+import com.app.book_management.model.Genre;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+import java.time.Year;
+
+/**
+ * Data Transfer Object class for obtaining criteria of combined book search.
+ * Every criterion is optional, books must match all provided criteria.
+ * Ranges are inclusive, and books are sorted by id ascending unless specified otherwise.
+ */
+@Data
+public class BookSearchCriteriaDto {
+
+    private String author;
+    private String title;
+    private String keyword;
+    private Genre genre;
+    private Year minYear;
+    private Year maxYear;
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minRating;
+    private BookSortField sort = BookSortField.ID;
+    private Sort.Direction direction = Sort.Direction.ASC;
+}
@@ -0,0 +1,17 @@
+package com.app.book_management.dto;
+
+import com.app.book_management.model.SuggestionField;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object class for representing an autocomplete suggestion,
+ * a distinct title or author of existing books starting with the requested prefix.
+ */
+@Data
+@AllArgsConstructor
+public class BookSuggestionDto {
+
+    private String text;
+    private SuggestionField field;
+}
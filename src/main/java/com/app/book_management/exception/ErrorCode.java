@@ -16,7 +16,14 @@ public enum ErrorCode {
     BOOK_LIST_IS_NULL(HttpStatus.CONFLICT),
     INVALID_AUTHOR_EXCEPTION(HttpStatus.BAD_REQUEST),
     INVALID_PRICE_EXCEPTION(HttpStatus.BAD_REQUEST),
-    INVALID_BOOK_YEAR_EXCEPTION(HttpStatus.BAD_REQUEST);
+    INVALID_BOOK_YEAR_EXCEPTION(HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_LIMIT_EXCEPTION(HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR_EXCEPTION(HttpStatus.BAD_REQUEST),
+    INVALID_BOOK_EXCEPTION(HttpStatus.BAD_REQUEST),
+    INVALID_SEARCH_CRITERIA_EXCEPTION(HttpStatus.BAD_REQUEST),
+    INVALID_FIELDS_EXCEPTION(HttpStatus.BAD_REQUEST),
+    RATING_BUFFER_FULL_EXCEPTION(HttpStatus.TOO_MANY_REQUESTS),
+    SERVICE_OVERLOADED_EXCEPTION(HttpStatus.SERVICE_UNAVAILABLE);
 
     private final HttpStatus httpStatus;
 
@@ -22,6 +22,14 @@ public interface BookMapper {
      */
     @Mapping(target = "ratings", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "ratingCount", ignore = true)
+    @Mapping(target = "ratingSum", ignore = true)
+    @Mapping(target = "oneStarRatings", ignore = true)
+    @Mapping(target = "twoStarRatings", ignore = true)
+    @Mapping(target = "threeStarRatings", ignore = true)
+    @Mapping(target = "fourStarRatings", ignore = true)
+    @Mapping(target = "fiveStarRatings", ignore = true)
+    @Mapping(target = "roundedAverageRating", ignore = true)
     Book toBook(BookRequestDto dto);
 
     /**
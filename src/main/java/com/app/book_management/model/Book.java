@@ -1,17 +1,27 @@
 package com.app.book_management.model;
 
+import com.app.book_management.utils.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Books and their ratings are kept in Hibernate second-level cache, so loading an unchanged book by id
+ * does not query the database.
+ * Rating a book invalidates only its cached entry and ratings, and cached query results of books.
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.BOOK_REGION)
 @Data
 @Builder
 @AllArgsConstructor
@@ -19,8 +29,12 @@ import java.util.List;
 @Table(name = "book")
 public class Book {
 
+    /**
+     * Ids are allocated from a pooled sequence, so Hibernate can batch inserts of new books.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Book title can not be blank")
@@ -48,8 +62,71 @@ public class Book {
     private Double price;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.BOOK_RATINGS_REGION)
     @CollectionTable(name = "book_ratings", joinColumns = @JoinColumn(name = "book_id"))
     @Column(name = "rating")
     @Builder.Default
     private List<@Min(1) @Max(5) Integer> ratings = new ArrayList<>();
+
+    @Column(name = "rating_count", nullable = false)
+    @Builder.Default
+    private Long ratingCount = 0L;
+
+    @Column(name = "rating_sum", nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "one_star_ratings", nullable = false)
+    @Builder.Default
+    private Long oneStarRatings = 0L;
+
+    @Column(name = "two_star_ratings", nullable = false)
+    @Builder.Default
+    private Long twoStarRatings = 0L;
+
+    @Column(name = "three_star_ratings", nullable = false)
+    @Builder.Default
+    private Long threeStarRatings = 0L;
+
+    @Column(name = "four_star_ratings", nullable = false)
+    @Builder.Default
+    private Long fourStarRatings = 0L;
+
+    @Column(name = "five_star_ratings", nullable = false)
+    @Builder.Default
+    private Long fiveStarRatings = 0L;
+
+    /**
+     * Average of all ratings rounded half up, or null if the book has not been rated yet.
+     */
+    @Column(name = "rounded_average_rating")
+    private Integer roundedAverageRating;
+
+    /**
+     * Recalculates rating aggregates from the ratings list.
+     * Used when a book is created together with its ratings,
+     * as aggregates of rated books are otherwise maintained by BookRepository.addRating.
+     */
+    public void recalculateRatingAggregates() {
+        ratingCount = 0L;
+        ratingSum = 0L;
+        oneStarRatings = 0L;
+        twoStarRatings = 0L;
+        threeStarRatings = 0L;
+        fourStarRatings = 0L;
+        fiveStarRatings = 0L;
+        for (final Integer rating : ratings) {
+            ratingCount++;
+            ratingSum += rating;
+            switch (rating) {
+                case 1 -> oneStarRatings++;
+                case 2 -> twoStarRatings++;
+                case 3 -> threeStarRatings++;
+                case 4 -> fourStarRatings++;
+                case 5 -> fiveStarRatings++;
+                default -> throw new IllegalArgumentException("Book rating must be between 1 and 5");
+            }
+        }
+        roundedAverageRating = ratingCount == 0 ? null : (int) ((2 * ratingSum + ratingCount) / (2 * ratingCount));
+    }
 }
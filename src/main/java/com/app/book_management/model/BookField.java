@@ -0,0 +1,26 @@
+package com.app.book_management.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Represents the fields of a book response clients can select with the "fields" request parameter.
+ * Overall rating is not a Book attribute, it is calculated from rating aggregates.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BookField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    GENRE("genre"),
+    AUTHOR("author"),
+    YEAR("year"),
+    PRICE("price"),
+    OVERALL_RATING("overallRating");
+
+    /**
+     * Name of the field in responses, which is also the name of the Book attribute it is read from.
+     */
+    private final String property;
+}
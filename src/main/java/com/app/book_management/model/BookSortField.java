@@ -0,0 +1,32 @@
+package com.app.book_management.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Year;
+import java.util.function.Function;
+
+/**
+ * Represents the fields books can be sorted by in combined search.
+ * Books with equal sort field values are ordered by id, so every book has a stable position for keyset pagination.
+ * Unrated books are sorted by rating as if their rating was 0.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BookSortField {
+    ID("id", Long::valueOf),
+    TITLE("title", value -> value),
+    PRICE("price", Double::valueOf),
+    YEAR("year", value -> Year.of(Integer.parseInt(value))),
+    RATING("roundedAverageRating", Integer::valueOf);
+
+    /**
+     * Name of the Book attribute to sort by.
+     */
+    private final String attribute;
+
+    /**
+     * Parses the sort field value stored in a cursor.
+     */
+    private final Function<String, Object> keyParser;
+}
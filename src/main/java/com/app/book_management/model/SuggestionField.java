@@ -0,0 +1,9 @@
+package com.app.book_management.model;
+
+/**
+ * Represents the book fields autocomplete suggestions are made from.
+ */
+public enum SuggestionField {
+    TITLE,
+    AUTHOR
+}
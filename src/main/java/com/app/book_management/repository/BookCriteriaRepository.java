@@ -0,0 +1,47 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.BookField;
+import com.app.book_management.model.BookSortField;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment for combined book search and field selection with dynamically built criteria.
+ * Implemented in BookCriteriaRepositoryImpl and exposed through BookRepository.
+ */
+public interface BookCriteriaRepository {
+
+    /**
+     * Searches books matching provided specification in a single query,
+     * ordered by provided sort field and direction, and by id ascending among books with equal sort field values.
+     * Results are keyset paginated: only books sorted after provided sort key and id are returned.
+     *
+     * @param specification criteria books must match, built with BookSpecifications.
+     * @param sortField the field to sort books by.
+     * @param direction the direction to sort books in.
+     * @param afterKey the sort field value of the last book of the previous page, or null for the first page.
+     * @param afterId the id of the last book of the previous page, or zero for the first page.
+     * @param limit the maximum number of books to return.
+     * @return list of found books with their sort field values.
+     */
+    List<SortedBook> searchBooks(Specification<Book> specification, BookSortField sortField, Sort.Direction direction,
+                                 Object afterKey, Long afterId, int limit);
+
+    /**
+     * Retrieves books matching provided specification ordered by id, selecting only the columns of provided fields,
+     * so unselected columns, such as long descriptions, are never read from the database.
+     * Results are keyset paginated: only books with id greater than provided afterId are returned.
+     *
+     * @param specification criteria books must match, built with BookSpecifications.
+     * @param fields the fields to select, id is always selected.
+     * @param afterId the id of the last book of the previous page, or zero for the first page.
+     * @param limit the maximum number of books to return.
+     * @return list of BookResponseDto where unselected fields are null.
+     */
+    List<BookResponseDto> findBooks(Specification<Book> specification, Set<BookField> fields, Long afterId, int limit);
+}
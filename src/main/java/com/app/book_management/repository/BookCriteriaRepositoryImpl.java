@@ -0,0 +1,173 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.BookField;
+import com.app.book_management.model.BookSortField;
+import com.app.book_management.model.Genre;
+import com.app.book_management.utils.CursorCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of BookCriteriaRepository with JPA Criteria API.
+ * Selects only the columns of BookResponseDto, or of selected fields, with overall rating calculated from rating aggregates
+ * the same way as BookRepository list queries, so no entities are loaded.
+ */
+@RequiredArgsConstructor
+public class BookCriteriaRepositoryImpl implements BookCriteriaRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<SortedBook> searchBooks(final Specification<Book> specification, final BookSortField sortField,
+                                        final Sort.Direction direction, final Object afterKey, final Long afterId,
+                                        final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Book> book = query.from(Book.class);
+        final Path<Long> id = book.get("id");
+        final Expression<? extends Comparable<?>> sortKey = sortKey(cb, book, sortField);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        final Predicate matching = specification.toPredicate(book, query, cb);
+        if (matching != null) {
+            predicates.add(matching);
+        }
+        if (afterId > CursorCodec.FIRST_PAGE_ID) {
+            predicates.add(sortedAfter(cb, sortKey, afterKey, id, afterId, sortField, direction.isAscending()));
+        }
+
+        query.multiselect(id, book.get("title"), book.get("description"), book.get("genre"), book.get("author"),
+                        book.get("year"), book.get("price"), overallRating(cb, book), sortKey)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(sortField == BookSortField.ID
+                        ? List.of(order(cb, id, direction))
+                        : List.of(order(cb, sortKey, direction), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> new SortedBook(new BookResponseDto(
+                        tuple.get(0, Long.class),
+                        tuple.get(1, String.class),
+                        tuple.get(2, String.class),
+                        tuple.get(3, Genre.class),
+                        tuple.get(4, String.class),
+                        tuple.get(5, Year.class),
+                        tuple.get(6, Double.class),
+                        tuple.get(7, Integer.class)),
+                        tuple.get(8)))
+                .toList();
+    }
+
+    @Override
+    public List<BookResponseDto> findBooks(final Specification<Book> specification, final Set<BookField> fields,
+                                           final Long afterId, final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Book> book = query.from(Book.class);
+        final Path<Long> id = book.get("id");
+
+        final List<Predicate> predicates = new ArrayList<>();
+        final Predicate matching = specification.toPredicate(book, query, cb);
+        if (matching != null) {
+            predicates.add(matching);
+        }
+        predicates.add(cb.greaterThan(id, afterId));
+
+        final List<Selection<?>> selections = new ArrayList<>();
+        selections.add(id.alias(BookField.ID.getProperty()));
+        for (final BookField field : fields) {
+            if (field == BookField.OVERALL_RATING) {
+                selections.add(overallRating(cb, book).alias(field.getProperty()));
+            } else if (field != BookField.ID) {
+                selections.add(book.get(field.getProperty()).alias(field.getProperty()));
+            }
+        }
+
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> toBookResponseDto(tuple, fields))
+                .toList();
+    }
+
+    /**
+     * Creates expression of overall rating, the truncated average of ratings, or 1 if book has not been rated yet.
+     */
+    private Expression<Integer> overallRating(final CriteriaBuilder cb, final Root<Book> book) {
+        final Expression<Long> ratingCount = book.get("ratingCount");
+        final Expression<Long> ratingSum = book.get("ratingSum");
+        return cb.<Integer>selectCase()
+                .when(cb.equal(ratingCount, 0L), cb.literal(1))
+                .otherwise(cb.quot(ratingSum, ratingCount).as(Integer.class));
+    }
+
+    /**
+     * Creates BookResponseDto of the selected fields of a tuple, leaving unselected fields null.
+     */
+    private BookResponseDto toBookResponseDto(final Tuple tuple, final Set<BookField> fields) {
+        final BookResponseDto dto = BookResponseDto.builder()
+                .id(tuple.get(BookField.ID.getProperty(), Long.class))
+                .build();
+        for (final BookField field : fields) {
+            final String alias = field.getProperty();
+            switch (field) {
+                case TITLE -> dto.setTitle(tuple.get(alias, String.class));
+                case DESCRIPTION -> dto.setDescription(tuple.get(alias, String.class));
+                case GENRE -> dto.setGenre(tuple.get(alias, Genre.class));
+                case AUTHOR -> dto.setAuthor(tuple.get(alias, String.class));
+                case YEAR -> dto.setYear(tuple.get(alias, Year.class));
+                case PRICE -> dto.setPrice(tuple.get(alias, Double.class));
+                case OVERALL_RATING -> dto.setOverallRating(tuple.get(alias, Integer.class));
+                default -> {
+                }
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Creates expression of the value books are sorted by, where unrated books have rating 0.
+     */
+    private Expression<? extends Comparable<?>> sortKey(final CriteriaBuilder cb, final Root<Book> book,
+                                                       final BookSortField sortField) {
+        if (sortField == BookSortField.RATING) {
+            return cb.coalesce(book.<Integer>get(sortField.getAttribute()), 0);
+        }
+        return book.get(sortField.getAttribute());
+    }
+
+    /**
+     * Creates keyset predicate of books sorted after the last book of the previous page.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate sortedAfter(final CriteriaBuilder cb, final Expression sortKey, final Object afterKey,
+                                  final Path<Long> id, final Long afterId, final BookSortField sortField,
+                                  final boolean ascending) {
+        if (sortField == BookSortField.ID) {
+            return ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+        }
+        final Comparable key = (Comparable) afterKey;
+        final Predicate beyondKey = ascending ? cb.greaterThan(sortKey, key) : cb.lessThan(sortKey, key);
+        return cb.or(beyondKey, cb.and(cb.equal(sortKey, key), cb.greaterThan(id, afterId)));
+    }
+
+    private Order order(final CriteriaBuilder cb, final Expression<?> expression, final Sort.Direction direction) {
+        return direction.isAscending() ? cb.asc(expression) : cb.desc(expression);
+    }
+}
@@ -0,0 +1,61 @@
+package com.app.book_management.repository;
+
+import java.util.List;
+
+/**
+ * Repository fragment for adding book ratings.
+ * Implemented in BookRatingsRepositoryImpl and exposed through BookRepository.
+ */
+public interface BookRatingsRepository {
+
+    /**
+     * Adds provided rating to the rating aggregates of a book in a single atomic update.
+     * Rounded average rating is calculated with integer arithmetic as floor((2 * sum + count) / (2 * count)).
+     * Only the cached entry of the rated book and cached query results are invalidated when the transaction completes,
+     * other books stay in second-level cache.
+     * Must be called within a transaction.
+     *
+     * @param id unique constraint of Book Entity.
+     * @param rating a rating to add.
+     * @return number of updated books, zero if book with provided id does not exist.
+     */
+    int addRating(Long id, Integer rating);
+
+    /**
+     * Adds several ratings to the rating aggregates of a book in a single atomic update,
+     * used to write ratings coalesced per book, the same way as addRating.
+     * Must be called within a transaction.
+     *
+     * @param id unique constraint of Book Entity.
+     * @param count number of added ratings.
+     * @param sum sum of added ratings.
+     * @param oneStar number of added ratings of 1.
+     * @param twoStar number of added ratings of 2.
+     * @param threeStar number of added ratings of 3.
+     * @param fourStar number of added ratings of 4.
+     * @param fiveStar number of added ratings of 5.
+     * @return number of updated books, zero if book with provided id does not exist.
+     */
+    int addRatings(Long id, Long count, Long sum, Long oneStar, Long twoStar, Long threeStar, Long fourStar, Long fiveStar);
+
+    /**
+     * Appends provided rating to the ratings of a book without loading the book or its existing ratings.
+     * Book existence must be verified before, e.g. with addRating, and is also enforced by book_ratings foreign key.
+     * Cached ratings of the book are invalidated when the transaction completes.
+     * Must be called within a transaction.
+     *
+     * @param bookId unique constraint of Book Entity.
+     * @param rating a rating to append.
+     */
+    void insertRating(Long bookId, Integer rating);
+
+    /**
+     * Appends provided ratings to the ratings of a book with a single batch of inserts,
+     * the same way as insertRating.
+     * Must be called within a transaction.
+     *
+     * @param bookId unique constraint of Book Entity.
+     * @param ratings ratings to append.
+     */
+    void insertRatings(Long bookId, List<Integer> ratings);
+}
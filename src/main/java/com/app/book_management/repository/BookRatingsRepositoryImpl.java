@@ -0,0 +1,125 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.model.Book;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Implementation of BookRatingsRepository with native updates and inserts.
+ * Hibernate does not relate native statements to cached books and ratings collections,
+ * so the cached book and ratings of the rated book are evicted right away and once more after the transaction commits,
+ * dropping entries which concurrent loads cached from the database before the update committed.
+ * Rating aggregates are updated through JDBC instead of a bulk or native query, which would evict all cached books,
+ * and cached query results are evicted explicitly, as they hold overall ratings.
+ * Only book_ratings table is declared as affected by inserts, so other second-level cache regions are not invalidated.
+ */
+@RequiredArgsConstructor
+public class BookRatingsRepositoryImpl implements BookRatingsRepository {
+
+    private static final String RATINGS_ROLE = Book.class.getName() + ".ratings";
+    private static final String INSERT_RATING = "INSERT INTO book_ratings (book_id, rating) VALUES (?, ?)";
+    private static final String ADD_RATINGS = "UPDATE book SET rating_count = rating_count + ?, " +
+            "rating_sum = rating_sum + ?, " +
+            "one_star_ratings = one_star_ratings + ?, " +
+            "two_star_ratings = two_star_ratings + ?, " +
+            "three_star_ratings = three_star_ratings + ?, " +
+            "four_star_ratings = four_star_ratings + ?, " +
+            "five_star_ratings = five_star_ratings + ?, " +
+            "rounded_average_rating = CAST((2 * (rating_sum + ?) + rating_count + ?) / (2 * (rating_count + ?)) AS INTEGER) " +
+            "WHERE id = ?";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int addRating(final Long id, final Integer rating) {
+        return addRatings(id, 1L, rating.longValue(), rating == 1 ? 1L : 0L, rating == 2 ? 1L : 0L, rating == 3 ? 1L : 0L,
+                rating == 4 ? 1L : 0L, rating == 5 ? 1L : 0L);
+    }
+
+    @Override
+    public int addRatings(final Long id, final Long count, final Long sum, final Long oneStar, final Long twoStar,
+                          final Long threeStar, final Long fourStar, final Long fiveStar) {
+        entityManager.flush();
+        evictCachedBook(id);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADD_RATINGS)) {
+                statement.setLong(1, count);
+                statement.setLong(2, sum);
+                statement.setLong(3, oneStar);
+                statement.setLong(4, twoStar);
+                statement.setLong(5, threeStar);
+                statement.setLong(6, fourStar);
+                statement.setLong(7, fiveStar);
+                statement.setLong(8, sum);
+                statement.setLong(9, count);
+                statement.setLong(10, count);
+                statement.setLong(11, id);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public void insertRatings(final Long bookId, final List<Integer> ratings) {
+        evictCachedRatings(bookId);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_RATING)) {
+                for (final Integer rating : ratings) {
+                    statement.setLong(1, bookId);
+                    statement.setInt(2, rating);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public void insertRating(final Long bookId, final Integer rating) {
+        evictCachedRatings(bookId);
+        entityManager.createNativeQuery(INSERT_RATING)
+                .setParameter(1, bookId)
+                .setParameter(2, rating)
+                .setHint(HINT_NATIVE_SPACES, "book_ratings")
+                .executeUpdate();
+    }
+
+    private void evictCachedRatings(final Long bookId) {
+        evictNowAndAfterCommit(cache -> cache.evictCollectionData(RATINGS_ROLE, bookId));
+    }
+
+    /**
+     * Evicts the cached entry of provided book and all cached query results,
+     * without touching cached entries of other books.
+     */
+    private void evictCachedBook(final Long bookId) {
+        evictNowAndAfterCommit(cache -> {
+            cache.evict(Book.class, bookId);
+            cache.evictQueryRegions();
+        });
+    }
+
+    private void evictNowAndAfterCommit(final Consumer<Cache> eviction) {
+        final Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+}
@@ -1,36 +1,191 @@
 package com.app.book_management.repository;
 
+import com.app.book_management.dto.BookResponseDto;
 import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import com.app.book_management.utils.SecondLevelCacheConfig;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.Year;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for accessing Book entities.
  * Extends Spring Data JPa to provide methods for performing CRUD operations
  * and
  * contains custom queries related to books in the library.
+ * Ranked keyword search is provided by BookSearchRepository fragment,
+ * combined search with dynamically built criteria by BookCriteriaRepository fragment,
+ * and adding ratings by BookRatingsRepository fragment.
+ * List queries are keyset paginated: they return books with id greater than provided afterId ordered by id,
+ * limited by the page size of provided Pageable.
+ * List queries project books directly to BookResponseDto, with overall rating calculated from rating aggregates in SQL,
+ * so a page of books is retrieved in a single round trip without loading entities.
  *
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookSearchRepository, BookCriteriaRepository,
+        BookRatingsRepository {
+
+    /**
+     * Select clause projecting a Book to BookResponseDto.
+     * Overall rating is the truncated average of ratings, or 1 if book has not been rated yet.
+     */
+    String BOOK_RESPONSE_PROJECTION = "SELECT new com.app.book_management.dto.BookResponseDto(" +
+            "b.id, b.title, b.description, b.genre, b.author, b.year, b.price, " +
+            "CAST(CASE WHEN b.ratingCount = 0 THEN 1 ELSE b.ratingSum / b.ratingCount END AS Integer)) FROM Book b ";
+
+    /**
+     * Query to retrieve a page of all books.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto with id greater than provided afterId.
+     */
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Number of rows fetched from the database per round trip while streaming books.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Query to stream all books ordered by id.
+     * Rows are fetched from an open cursor in chunks of STREAM_FETCH_SIZE and projected to BookResponseDto,
+     * so no entities are kept in persistence context while streaming.
+     * Must be called within a transaction and the returned stream must be closed.
+     * @return stream of BookResponseDto of all books.
+     */
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(value = BOOK_RESPONSE_PROJECTION + "ORDER BY b.id")
+    Stream<BookResponseDto> streamAllBooks();
+
+    /**
+     * Select clause projecting a Book to CatalogBook, with overall rating calculated as in BOOK_RESPONSE_PROJECTION.
+     */
+    String CATALOG_BOOK_PROJECTION = "SELECT new com.app.book_management.repository.CatalogBook(" +
+            "b.id, b.title, b.description, b.genre, b.author, b.year, b.price, " +
+            "CAST(CASE WHEN b.ratingCount = 0 THEN 1 ELSE b.ratingSum / b.ratingCount END AS Integer), " +
+            "b.roundedAverageRating) FROM Book b ";
+
+    /**
+     * Query to stream all books for loading the in-memory catalog, fetched the same way as streamAllBooks.
+     * Must be called within a transaction and the returned stream must be closed.
+     * @return stream of CatalogBook of all books.
+     */
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(value = CATALOG_BOOK_PROJECTION + "ORDER BY b.id")
+    Stream<CatalogBook> streamCatalogBooks();
+
+    /**
+     * Query to retrieve books with provided ids for refreshing the in-memory catalog.
+     * @param ids unique constraints of Book Entities.
+     * @return list of CatalogBook of existing books with provided ids.
+     */
+    @Query(value = CATALOG_BOOK_PROJECTION + "WHERE b.id IN :ids")
+    List<CatalogBook> findCatalogBooks(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Select clause projecting a Book to RatedBook, with rating aggregates instead of overall rating.
+     */
+    String RATED_BOOK_PROJECTION = "SELECT new com.app.book_management.repository.RatedBook(" +
+            "b.id, b.title, b.genre, b.author, b.year, b.price, b.ratingCount, b.ratingSum) FROM Book b ";
+
+    /**
+     * Query to stream all books for loading genre leaderboards, fetched the same way as streamAllBooks.
+     * Must be called within a transaction and the returned stream must be closed.
+     * @return stream of RatedBook of all books.
+     */
+    @QueryHints(value = {@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(value = RATED_BOOK_PROJECTION + "ORDER BY b.id")
+    Stream<RatedBook> streamRatedBooks();
+
+    /**
+     * Query to retrieve books with provided ids for refreshing genre leaderboards.
+     * @param ids unique constraints of Book Entities.
+     * @return list of RatedBook of existing books with provided ids.
+     */
+    @Query(value = RATED_BOOK_PROJECTION + "WHERE b.id IN :ids")
+    List<RatedBook> findRatedBooks(@Param("ids") Collection<Long> ids);
 
     /**
      * Query to retrieve books based on provided genre.
+     * Results are kept in query cache until the book table is updated.
      * @param genre a genre to filter books by.
-     * @return list of Book entities with provided genre.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto with provided genre.
+     */
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = SecondLevelCacheConfig.BOOKS_BY_GENRE_REGION)})
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE b.genre = :genre AND b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksByGenre(@Param("genre") Genre genre, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Query to retrieve books written by provided author, ignoring case.
+     * @param author an author to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto with provided author.
+     */
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE LOWER(b.author) = LOWER(:author) AND b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksByAuthor(@Param("author") String author, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Query to retrieve books with provided title, ignoring case.
+     * @param title a title to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto with provided title.
+     */
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE LOWER(b.title) = LOWER(:title) AND b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksByTitle(@Param("title") String title, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Query to retrieve books which price is within provided range, inclusive.
+     * @param minPrice the minimal price to filter books by.
+     * @param maxPrice the maximum price to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto within provided price range.
+     */
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE b.price >= :minPrice AND b.price <= :maxPrice AND b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksInPriceRange(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Query to retrieve books published in provided year.
+     * @param year a year to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto published in provided year.
      */
-    @Query(value = "SELECT * FROM book WHERE genre = :genre", nativeQuery = true)
-    List<Book> findBooksByGenre(@Param("genre") String genre);
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE b.year = :year AND b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksByYear(@Param("year") Year year, @Param("afterId") Long afterId, Pageable pageable);
 
     /**
-     * Query to retrieve books based on provided average rating.
+     * Query to retrieve books based on provided average rating, rounded half up.
      * @param avgRating a rating to filter books by.
-     * @return list of Book entities with provided rating.
+     * @param afterId the id of the last book of the previous page.
+     * @param pageable page size to limit the result by.
+     * @return list of BookResponseDto with provided rating.
      */
-    @Query(value = "SELECT b FROM Book b WHERE ROUND((SELECT AVG(r) FROM b.ratings r)) = :avgRating")
-    List<Book> findBooksByAverageRating(@Param("avgRating") Integer avgRating);
+    @Query(value = BOOK_RESPONSE_PROJECTION + "WHERE b.roundedAverageRating = :avgRating AND b.id > :afterId ORDER BY b.id")
+    List<BookResponseDto> findBooksByAverageRating(@Param("avgRating") Integer avgRating, @Param("afterId") Long afterId, Pageable pageable);
 }
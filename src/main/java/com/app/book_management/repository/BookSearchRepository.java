@@ -0,0 +1,23 @@
+package com.app.book_management.repository;
+
+import java.util.List;
+
+/**
+ * Repository fragment for ranked full-text keyword search over book titles and descriptions.
+ * Implemented in BookSearchRepositoryImpl and exposed through BookRepository.
+ */
+public interface BookSearchRepository {
+
+    /**
+     * Searches books which title or description contains all words of provided keywords,
+     * ordered by relevance descending and id ascending.
+     * Results are keyset paginated: only books ranked after provided rank and id are returned.
+     *
+     * @param keywords one or more words to search books by.
+     * @param afterRank the rank of the last book of the previous page, ignored for the first page.
+     * @param afterId the id of the last book of the previous page, or zero for the first page.
+     * @param limit the maximum number of books to return.
+     * @return list of found books with their ranks.
+     */
+    List<RankedBook> searchByKeywords(String keywords, Double afterRank, Long afterId, int limit);
+}
@@ -0,0 +1,149 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Genre;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implementation of BookSearchRepository.
+ * On PostgreSQL books are searched with the "search_vector" tsvector column, which is generated from title and description
+ * and indexed with a GIN index, and ranked with ts_rank, where title matches weight more than description matches.
+ * On other databases, e.g. embedded databases used in tests, an equivalent portable query is used:
+ * every word must be contained in title or description, and each title match ranks twice as a description match.
+ */
+@Slf4j
+public class BookSearchRepositoryImpl implements BookSearchRepository {
+
+    /**
+     * Maximum number of words used by the portable search, to keep the generated query bounded.
+     */
+    static final int MAX_PORTABLE_SEARCH_WORDS = 10;
+
+    private static final String SELECTED_COLUMNS = "b.id, b.title, b.description, b.genre, b.author, b.year, b.price, " +
+            "CASE WHEN b.rating_count = 0 THEN 1 ELSE b.rating_sum / b.rating_count END AS overall_rating";
+
+    private static final String KEYSET_PAGE = " WHERE (:afterId = 0 OR ranked.search_rank < :afterRank " +
+            "OR (ranked.search_rank = :afterRank AND ranked.id > :afterId)) " +
+            "ORDER BY ranked.search_rank DESC, ranked.id LIMIT :limit";
+
+    private static final String FULL_TEXT_SEARCH = "SELECT * FROM (SELECT " + SELECTED_COLUMNS + ", " +
+            "CAST(ts_rank(b.search_vector, q) AS double precision) AS search_rank " +
+            "FROM book b, plainto_tsquery('english', :keywords) AS q " +
+            "WHERE b.search_vector @@ q) ranked" + KEYSET_PAGE;
+
+    private static final RowMapper<RankedBook> RANKED_BOOK_MAPPER = (rs, rowNum) -> new RankedBook(
+            new BookResponseDto(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    Genre.valueOf(rs.getString("genre")),
+                    rs.getString("author"),
+                    Year.of(rs.getInt("year")),
+                    rs.getDouble("price"),
+                    rs.getInt("overall_rating")),
+            rs.getDouble("search_rank"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean fullTextSupported;
+
+    /**
+     * Creates search repository and detects whether database supports PostgreSQL full-text search.
+     *
+     * @param jdbcTemplate template to run search queries with.
+     * @param dataSource data source to detect database product from.
+     */
+    public BookSearchRepositoryImpl(final NamedParameterJdbcTemplate jdbcTemplate, final DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fullTextSupported = isPostgreSql(dataSource);
+        log.info("Keyword search uses " + (fullTextSupported ? "PostgreSQL full-text search" : "portable search"));
+    }
+
+    @Override
+    public List<RankedBook> searchByKeywords(final String keywords, final Double afterRank, final Long afterId, final int limit) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("afterRank", afterRank == null ? 0.0 : afterRank)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        if (fullTextSupported) {
+            parameters.addValue("keywords", keywords);
+            return jdbcTemplate.query(FULL_TEXT_SEARCH, parameters, RANKED_BOOK_MAPPER);
+        }
+        return jdbcTemplate.query(portableSearch(keywords, parameters), parameters, RANKED_BOOK_MAPPER);
+    }
+
+    /**
+     * Builds portable search query, which requires every word to be contained in title or description.
+     *
+     * @param keywords one or more words to search books by.
+     * @param parameters query parameters to add LIKE patterns of words to.
+     * @return portable search query.
+     */
+    private String portableSearch(final String keywords, final MapSqlParameterSource parameters) {
+        final List<String> words = searchWords(keywords);
+        final StringBuilder rank = new StringBuilder("0");
+        final StringBuilder predicate = new StringBuilder("1 = 1");
+        for (int i = 0; i < words.size(); i++) {
+            final String title = "LOWER(b.title) LIKE :word" + i + " ESCAPE '\\'";
+            final String description = "LOWER(b.description) LIKE :word" + i + " ESCAPE '\\'";
+            rank.append(" + CASE WHEN ").append(title).append(" THEN 2 ELSE 0 END")
+                    .append(" + CASE WHEN ").append(description).append(" THEN 1 ELSE 0 END");
+            predicate.append(" AND (").append(title).append(" OR ").append(description).append(")");
+            parameters.addValue("word" + i, "%" + escapeLikePattern(words.get(i)) + "%");
+        }
+        return "SELECT * FROM (SELECT " + SELECTED_COLUMNS + ", CAST(" + rank + " AS double precision) AS search_rank " +
+                "FROM book b WHERE " + predicate + ") ranked" + KEYSET_PAGE;
+    }
+
+    /**
+     * Splits given keywords to distinct lower case words, limited to MAX_PORTABLE_SEARCH_WORDS.
+     *
+     * @param keywords one or more words separated by whitespace.
+     * @return words to search books by.
+     */
+    public static List<String> searchWords(final String keywords) {
+        return Arrays.stream(keywords.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+                .distinct()
+                .limit(MAX_PORTABLE_SEARCH_WORDS)
+                .toList();
+    }
+
+    /**
+     * Escapes LIKE wildcard characters in given value, so it would be matched literally.
+     *
+     * @param value a value to be escaped.
+     * @return escaped value, where backslash is used as the escape character.
+     */
+    static String escapeLikePattern(final String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Checks whether given data source is a PostgreSQL database.
+     *
+     * @param dataSource data source to check.
+     * @return true if database product is PostgreSQL.
+     */
+    private static boolean isPostgreSql(final DataSource dataSource) {
+        try {
+            final String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.error("Can not detect database product, portable keyword search will be used");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookSearchCriteriaDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Factory of Book specifications used by combined search and by queries of selected fields.
+ * Author and title are matched ignoring case, as in the single filter queries of BookRepository,
+ * and every word of a keyword must be contained in title or description, as in the portable keyword search.
+ */
+public final class BookSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Combines specifications of all criteria provided in given search criteria.
+     *
+     * @param criteria search criteria, where absent or blank criteria are ignored.
+     * @return specification books must match, matching all books if no criteria were provided.
+     */
+    public static Specification<Book> matching(final BookSearchCriteriaDto criteria) {
+        final List<Specification<Book>> specifications = new ArrayList<>();
+        if (isPresent(criteria.getAuthor())) {
+            specifications.add(hasAuthor(criteria.getAuthor()));
+        }
+        if (isPresent(criteria.getTitle())) {
+            specifications.add(hasTitle(criteria.getTitle()));
+        }
+        if (isPresent(criteria.getKeyword())) {
+            specifications.add(containsWords(criteria.getKeyword()));
+        }
+        if (criteria.getGenre() != null) {
+            specifications.add(hasGenre(criteria.getGenre()));
+        }
+        if (criteria.getMinYear() != null || criteria.getMaxYear() != null) {
+            specifications.add(publishedBetween(criteria.getMinYear(), criteria.getMaxYear()));
+        }
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            specifications.add(pricedBetween(criteria.getMinPrice(), criteria.getMaxPrice()));
+        }
+        if (criteria.getMinRating() != null) {
+            specifications.add(ratedAtLeast(criteria.getMinRating()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Book> hasId(final Long id) {
+        return (book, query, cb) -> cb.equal(book.get("id"), id);
+    }
+
+    public static Specification<Book> hasAuthor(final String author) {
+        return (book, query, cb) -> cb.equal(cb.lower(book.get("author")), author.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Book> hasTitle(final String title) {
+        return (book, query, cb) -> cb.equal(cb.lower(book.get("title")), title.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Book> containsWords(final String keyword) {
+        return (book, query, cb) -> cb.and(BookSearchRepositoryImpl.searchWords(keyword).stream()
+                .map(word -> "%" + BookSearchRepositoryImpl.escapeLikePattern(word) + "%")
+                .map(pattern -> cb.or(
+                        cb.like(cb.lower(book.get("title")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(book.get("description")), pattern, LIKE_ESCAPE)))
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<Book> hasGenre(final Genre genre) {
+        return (book, query, cb) -> cb.equal(book.get("genre"), genre);
+    }
+
+    public static Specification<Book> publishedBetween(final Year minYear, final Year maxYear) {
+        return (book, query, cb) -> {
+            final List<Predicate> predicates = new ArrayList<>();
+            if (minYear != null) {
+                predicates.add(cb.greaterThanOrEqualTo(book.get("year"), minYear));
+            }
+            if (maxYear != null) {
+                predicates.add(cb.lessThanOrEqualTo(book.get("year"), maxYear));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Book> pricedBetween(final Double minPrice, final Double maxPrice) {
+        return (book, query, cb) -> {
+            final List<Predicate> predicates = new ArrayList<>();
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(book.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(book.get("price"), maxPrice));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Matches books which average rating, rounded half up, is at least provided rating. Unrated books never match.
+     */
+    public static Specification<Book> ratedAtLeast(final Integer minRating) {
+        return (book, query, cb) -> cb.greaterThanOrEqualTo(book.get("roundedAverageRating"), minRating);
+    }
+
+    /**
+     * Matches books which average rating, rounded half up, is provided rating. Unrated books never match.
+     */
+    public static Specification<Book> hasAverageRating(final Integer rating) {
+        return (book, query, cb) -> cb.equal(book.get("roundedAverageRating"), rating);
+    }
+
+    private static boolean isPresent(final String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Genre;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Year;
+
+/**
+ * Immutable projection of a Book held by the in-memory catalog.
+ * Holds the fields of BookResponseDto together with the rounded average rating books are filtered by,
+ * and creates a new BookResponseDto for every response, so responses never share state with the catalog.
+ * Required arguments constructor is used by BookRepository catalog queries.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogBook {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Genre genre;
+    private final String author;
+    private final Year year;
+    private final Double price;
+    private final Integer overallRating;
+    private final Integer roundedAverageRating;
+
+    /**
+     * Creates a new BookResponseDto of this book.
+     *
+     * @return BookResponseDto with overall rating.
+     */
+    public BookResponseDto toBookResponseDto() {
+        return new BookResponseDto(id, title, description, genre, author, year, price, overallRating);
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keyword search result holding a found book together with its relevance rank.
+ * Rank is needed, besides book id, to create the cursor of the next search page.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RankedBook {
+
+    private final BookResponseDto book;
+    private final Double rank;
+}
@@ -0,0 +1,54 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Genre;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Year;
+
+/**
+ * Immutable projection of a Book held by genre leaderboards, without description.
+ * Holds rating aggregates books are ranked by, and creates a new BookResponseDto for every response.
+ * Required arguments constructor is used by BookRepository leaderboard queries.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RatedBook {
+
+    private final Long id;
+    private final String title;
+    private final Genre genre;
+    private final String author;
+    private final Year year;
+    private final Double price;
+    private final Long ratingCount;
+    private final Long ratingSum;
+
+    /**
+     * Calculates exact average rating of this book.
+     *
+     * @return average of all ratings, or 0 if the book has not been rated yet.
+     */
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0 : (double) ratingSum / ratingCount;
+    }
+
+    /**
+     * Creates a new BookResponseDto of this book without description,
+     * with overall rating truncated as in BookRepository projection queries.
+     *
+     * @return BookResponseDto with overall rating.
+     */
+    public BookResponseDto toBookResponseDto() {
+        return BookResponseDto.builder()
+                .id(id)
+                .title(title)
+                .genre(genre)
+                .author(author)
+                .year(year)
+                .price(price)
+                .overallRating(ratingCount == 0 ? 1 : (int) (ratingSum / ratingCount))
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Combined search result holding a found book together with the value of the field books are sorted by.
+ * Sort key is needed, besides book id, to create the cursor of the next search page.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SortedBook {
+
+    private final BookResponseDto book;
+    private final Object sortKey;
+}
@@ -0,0 +1,59 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for export of the whole book catalog.
+ * Books are streamed from the database and written as newline delimited JSON one by one as they are read,
+ * so memory used by an export does not depend on the catalog size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookExportService {
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all books ordered by id to given stream, one BookResponseDto JSON object per line.
+     * Transaction is kept open for the whole export, as database cursor is only valid within it.
+     *
+     * @param output stream to write books to, it is flushed but not closed.
+     * @return number of exported books.
+     * @throws IOException if books can not be written to the stream.
+     */
+    @Transactional(readOnly = true)
+    public long exportBooks(final OutputStream output) throws IOException {
+        final ObjectWriter writer = objectMapper.writerFor(BookResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<BookResponseDto> books = bookRepository.streamAllBooks();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            final Iterator<BookResponseDto> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                exported++;
+            }
+        }
+        log.info(exported + " books exported");
+        return exported;
+    }
+}
@@ -0,0 +1,195 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookImportErrorDto;
+import com.app.book_management.dto.BookImportReportDto;
+import com.app.book_management.dto.BookRequestDto;
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.mapper.BookMapper;
+import com.app.book_management.model.Book;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.utils.BookImportProperties;
+import com.app.book_management.validator.BookValidator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for bulk import of books.
+ * Reads books one by one from a JSON array or NDJSON stream, validates each record with BookValidator
+ * and
+ * writes valid books in batches, each batch in its own transaction with batched JDBC inserts.
+ * Invalid records are reported instead of aborting the whole import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportService {
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final BookValidator bookValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BookImportProperties importProperties;
+    private final CatalogVersionService catalogVersionService;
+    private final InMemoryCatalog inMemoryCatalog;
+    private final BookSuggestionService bookSuggestionService;
+    private final BookLeaderboardService bookLeaderboardService;
+
+    /**
+     * Imports books from given stream containing a JSON array or newline delimited JSON objects.
+     * Stream is read incrementally, so only a single batch of books is held in memory at a time.
+     *
+     * @param input stream of BookRequestDto records.
+     * @return report of imported and failed records.
+     * @throws IOException if the stream can not be read.
+     */
+    public BookImportReportDto importBooks(final InputStream input) throws IOException {
+        final ImportReport report = new ImportReport(importProperties.getMaxReportedErrors());
+        final List<PendingBook> batch = new ArrayList<>(importProperties.getBatchSize());
+        long record = 0;
+
+        try (MappingIterator<BookRequestDto> records = objectMapper.readerFor(BookRequestDto.class).readValues(input)) {
+            while (nextRecordExists(records, record, report)) {
+                try {
+                    final BookRequestDto dto = records.nextValue();
+                    bookValidator.validateNewBook(dto);
+                    batch.add(new PendingBook(record, bookMapper.toBook(dto)));
+                } catch (JsonParseException e) {
+                    report.abort(record, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonProcessingException e) {
+                    report.fail(record, "Invalid record: " + e.getOriginalMessage());
+                } catch (ApplicationException e) {
+                    report.fail(record, e.getMessage());
+                }
+                record++;
+                if (batch.size() >= importProperties.getBatchSize()) {
+                    writeBatch(batch, report);
+                }
+            }
+        }
+        writeBatch(batch, report);
+        log.info(report.imported + " books imported, " + report.failed + " records failed");
+        return report.toDto();
+    }
+
+    /**
+     * Checks whether the stream has a next record, aborting the import on malformed JSON.
+     *
+     * @param records iterator over stream records.
+     * @param record position of the next record.
+     * @param report import report to record abort in.
+     * @return true if the next record exists.
+     * @throws IOException if the stream can not be read.
+     */
+    private boolean nextRecordExists(final MappingIterator<BookRequestDto> records, final long record,
+                                     final ImportReport report) throws IOException {
+        try {
+            return records.hasNextValue();
+        } catch (JsonParseException e) {
+            report.abort(record, "Malformed JSON: " + e.getOriginalMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes given batch of books in a single transaction and clears the batch.
+     * If the batch can not be written, books are written one by one to find and report failing records.
+     *
+     * @param batch books to be written.
+     * @param report import report to record results in.
+     */
+    private void writeBatch(final List<PendingBook> batch, final ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    bookRepository.saveAll(batch.stream().map(PendingBook::book).toList()));
+            report.imported += batch.size();
+            catalogVersionService.booksAdded();
+            final List<Long> bookIds = batch.stream().map(pending -> pending.book().getId()).toList();
+            inMemoryCatalog.booksChanged(bookIds);
+            bookSuggestionService.booksAdded(batch.stream().map(PendingBook::book).toList());
+            bookLeaderboardService.booksChanged(bookIds);
+        } catch (DataAccessException e) {
+            log.error("Batch of " + batch.size() + " books failed, writing books one by one");
+            for (final PendingBook pending : batch) {
+                writeSingle(pending, report);
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Writes a single book in its own transaction.
+     *
+     * @param pending book to be written.
+     * @param report import report to record result in.
+     */
+    private void writeSingle(final PendingBook pending, final ImportReport report) {
+        try {
+            pending.book().setId(null);
+            transactionTemplate.executeWithoutResult(status -> bookRepository.save(pending.book()));
+            report.imported++;
+            catalogVersionService.booksAdded();
+            inMemoryCatalog.booksChanged(List.of(pending.book().getId()));
+            bookSuggestionService.booksAdded(List.of(pending.book()));
+            bookLeaderboardService.booksChanged(List.of(pending.book().getId()));
+        } catch (DataAccessException e) {
+            report.fail(pending.record(), "Book can not be saved: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Validated book waiting to be written, together with its position in the stream.
+     */
+    private record PendingBook(long record, Book book) {
+    }
+
+    /**
+     * Mutable import report accumulated while reading the stream.
+     */
+    @RequiredArgsConstructor
+    private static final class ImportReport {
+
+        private final int maxReportedErrors;
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private boolean aborted;
+
+        private void fail(final long record, final String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportErrorDto(record, message));
+            }
+        }
+
+        private void abort(final long record, final String message) {
+            fail(record, message);
+            aborted = true;
+        }
+
+        private BookImportReportDto toDto() {
+            return BookImportReportDto.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .aborted(aborted)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.repository.RatedBook;
+import com.app.book_management.validator.BookValidator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service class for leaderboards of the best rated books per genre.
+ * Rating aggregates of all books are kept in memory in a sorted set per genre,
+ * ordered by average rating and by number of ratings, both descending, and by id among equally rated books.
+ * The first BookValidator.MAX_TOP_BOOKS books of each genre are published as an immutable list,
+ * so leaderboards are answered from memory without locking and without touching the database.
+ * Leaderboards are loaded once the application is ready.
+ * Books changed by a transaction are queued after it commits, re-read from the primary database by a BookRefreshQueue
+ * and re-ranked, so applying the same change twice has no effect, and the list of a genre is rebuilt only
+ * when a changed book was or becomes one of its top books.
+ * Loading and refreshes are serialized, so the latest refresh of a book always applies its latest committed state.
+ * If a book can not be re-read, it keeps its previous rank until the refresh is retried successfully.
+ * Leaderboard version of CatalogVersionService is bumped after top books are published,
+ * so top books are tagged with a version of their own and not with the catalog version bumped at commit.
+ */
+@Service
+@Slf4j
+public class BookLeaderboardService {
+
+    private static final Comparator<RatedBook> RANKING = Comparator.comparingDouble(RatedBook::getAverageRating).reversed()
+            .thenComparing(RatedBook::getRatingCount, Comparator.reverseOrder())
+            .thenComparing(RatedBook::getId);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService catalogVersionService;
+    private final Lock updateLock = new ReentrantLock();
+    private final Map<Long, RatedBook> rankedBooks = new HashMap<>();
+    private final Map<Genre, NavigableSet<RatedBook>> rankings = new EnumMap<>(Genre.class);
+    private final Map<Genre, List<RatedBook>> topBooks = new ConcurrentHashMap<>();
+    private final BookRefreshQueue refreshQueue = new BookRefreshQueue("leaderboard-refresher", this::refresh);
+
+    private boolean loaded;
+
+    public BookLeaderboardService(final BookRepository bookRepository, final PlatformTransactionManager transactionManager,
+                                  final CatalogVersionService catalogVersionService) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.catalogVersionService = catalogVersionService;
+    }
+
+    /**
+     * Loads rating aggregates of all books and ranks them.
+     * Books are read within a read-write transaction, so they are read from the primary database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        updateLock.lock();
+        try {
+            rankedBooks.clear();
+            rankings.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<RatedBook> books = bookRepository.streamRatedBooks()) {
+                    books.forEach(this::rank);
+                }
+            });
+            for (final Genre genre : Genre.values()) {
+                publish(genre);
+            }
+            catalogVersionService.leaderboardChanged();
+            loaded = true;
+            log.info(rankedBooks.size() + " books ranked in genre leaderboards");
+        } catch (RuntimeException e) {
+            log.error("Can not load genre leaderboards", e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the best rated books of provided genre.
+     *
+     * @param genre the genre of books.
+     * @param count the maximum number of books, at most BookValidator.MAX_TOP_BOOKS.
+     * @return list of BookResponseDto without description, best rated first.
+     */
+    public List<BookResponseDto> getTopBooks(final Genre genre, final int count) {
+        return topBooks.getOrDefault(genre, List.of()).stream()
+                .limit(count)
+                .map(RatedBook::toBookResponseDto)
+                .toList();
+    }
+
+    /**
+     * Queues provided books to be re-ranked,
+     * after the current transaction commits or immediately if there is no transaction.
+     * Books which no longer exist are removed from leaderboards.
+     *
+     * @param bookIds unique constraints of added, rated or deleted Book Entities.
+     */
+    public void booksChanged(final Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        final List<Long> changedIds = List.copyOf(bookIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQueue.submit(changedIds);
+                }
+            });
+        } else {
+            refreshQueue.submit(changedIds);
+        }
+    }
+
+    /**
+     * Waits until all queued books are re-ranked.
+     *
+     * @param timeout the maximum time to wait.
+     * @return true if all queued books were re-ranked, false if the timeout elapsed.
+     */
+    boolean awaitRefreshed(final Duration timeout) throws InterruptedException {
+        return refreshQueue.awaitIdle(timeout);
+    }
+
+    /**
+     * Stops re-ranking queued books when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        refreshQueue.stop();
+    }
+
+    /**
+     * Re-reads provided books from the primary database, moves them to their current rank
+     * and
+     * republishes top books of genres where a top book changed, bumping the leaderboard version.
+     * Changes made before leaderboards are loaded are skipped, as loading reads them anyway.
+     *
+     * @return true if leaderboards are up to date, false if the refresh failed and should be retried.
+     */
+    private boolean refresh(final List<Long> bookIds) {
+        updateLock.lock();
+        try {
+            if (!loaded) {
+                return true;
+            }
+            final List<RatedBook> books = transactionTemplate.execute(status -> bookRepository.findRatedBooks(bookIds));
+            final Set<Genre> changedGenres = EnumSet.noneOf(Genre.class);
+            for (final Long id : bookIds) {
+                final RatedBook previous = unrank(id);
+                if (previous != null && isTopBook(previous)) {
+                    changedGenres.add(previous.getGenre());
+                }
+            }
+            for (final RatedBook book : books) {
+                rank(book);
+                if (isTopBook(book)) {
+                    changedGenres.add(book.getGenre());
+                }
+            }
+            if (!changedGenres.isEmpty()) {
+                changedGenres.forEach(this::publish);
+                catalogVersionService.leaderboardChanged();
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Can not refresh books where id in " + bookIds + " in genre leaderboards", e);
+            return false;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void rank(final RatedBook book) {
+        rankedBooks.put(book.getId(), book);
+        rankings.computeIfAbsent(book.getGenre(), genre -> new TreeSet<>(RANKING)).add(book);
+    }
+
+    private RatedBook unrank(final Long id) {
+        final RatedBook book = rankedBooks.remove(id);
+        if (book != null) {
+            rankings.get(book.getGenre()).remove(book);
+        }
+        return book;
+    }
+
+    /**
+     * Checks whether provided book ranks among the currently published top books of its genre.
+     */
+    private boolean isTopBook(final RatedBook book) {
+        final List<RatedBook> top = topBooks.getOrDefault(book.getGenre(), List.of());
+        return top.size() < BookValidator.MAX_TOP_BOOKS || RANKING.compare(book, top.get(top.size() - 1)) <= 0;
+    }
+
+    private void publish(final Genre genre) {
+        topBooks.put(genre, rankings.getOrDefault(genre, new TreeSet<>(RANKING)).stream()
+                .limit(BookValidator.MAX_TOP_BOOKS)
+                .toList());
+    }
+}
@@ -0,0 +1,154 @@
+package com.app.book_management.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Queue of changed book ids refreshed by a single background thread,
+ * used by in-memory views of books which re-read changed books from the database.
+ * Refreshes never run on the thread which committed the change, as it holds its database connection
+ * until after-commit callbacks complete, so a write never needs a second connection.
+ * Ids submitted while a refresh runs are coalesced into the next refresh,
+ * and ids of a failed refresh are retried together with later changes after RETRY_DELAY.
+ */
+@Slf4j
+class BookRefreshQueue {
+
+    /**
+     * Delay before ids of a failed refresh are refreshed again.
+     */
+    static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final String name;
+    private final Predicate<List<Long>> refresh;
+    private final Lock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+    private final Set<Long> pendingIds = new LinkedHashSet<>();
+
+    private boolean refreshing;
+    private boolean stopped;
+    private Thread refresher;
+
+    /**
+     * Creates a queue, its thread is started with the first submitted ids.
+     *
+     * @param name the name of the refresher thread.
+     * @param refresh refreshes provided ids and returns true, or returns false if they should be refreshed again.
+     */
+    BookRefreshQueue(final String name, final Predicate<List<Long>> refresh) {
+        this.name = name;
+        this.refresh = refresh;
+    }
+
+    /**
+     * Adds provided ids to the next refresh.
+     *
+     * @param bookIds unique constraints of changed Book Entities.
+     */
+    void submit(final Collection<Long> bookIds) {
+        lock.lock();
+        try {
+            if (stopped) {
+                return;
+            }
+            pendingIds.addAll(bookIds);
+            if (refresher == null) {
+                refresher = new Thread(this::refreshUntilStopped, name);
+                refresher.setDaemon(true);
+                refresher.start();
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all submitted ids are refreshed.
+     *
+     * @param timeout the maximum time to wait.
+     * @return true if all submitted ids were refreshed, false if the timeout elapsed.
+     */
+    boolean awaitIdle(final Duration timeout) throws InterruptedException {
+        long remainingNanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (refreshing || !pendingIds.isEmpty()) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = idle.awaitNanos(remainingNanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the refresher thread, pending ids are not refreshed.
+     */
+    void stop() {
+        lock.lock();
+        try {
+            stopped = true;
+            if (refresher != null) {
+                refresher.interrupt();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refreshUntilStopped() {
+        try {
+            while (true) {
+                final List<Long> bookIds = take();
+                if (!refresh.test(bookIds)) {
+                    retryLater(bookIds);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Long> take() throws InterruptedException {
+        lock.lock();
+        try {
+            refreshing = false;
+            while (pendingIds.isEmpty()) {
+                idle.signalAll();
+                changed.await();
+            }
+            final List<Long> bookIds = List.copyOf(pendingIds);
+            pendingIds.clear();
+            refreshing = true;
+            return bookIds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void retryLater(final List<Long> bookIds) throws InterruptedException {
+        lock.lock();
+        try {
+            pendingIds.addAll(bookIds);
+        } finally {
+            lock.unlock();
+        }
+        log.warn(bookIds.size() + " changed books will be refreshed again in " + RETRY_DELAY);
+        TimeUnit.NANOSECONDS.sleep(RETRY_DELAY.toNanos());
+    }
+}
@@ -1,22 +1,44 @@
 package com.app.book_management.service;
 
+import com.app.book_management.dto.BookPageResponseDto;
 import com.app.book_management.dto.BookRequestDto;
 import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
+import com.app.book_management.dto.BookSuggestionDto;
 import com.app.book_management.exception.ApplicationException;
 import com.app.book_management.exception.ErrorCode;
 import com.app.book_management.mapper.BookMapper;
 import com.app.book_management.model.Book;
+import com.app.book_management.model.BookField;
 import com.app.book_management.model.Genre;
 import com.app.book_management.repository.BookRepository;
+import com.app.book_management.repository.BookSpecifications;
+import com.app.book_management.repository.RankedBook;
+import com.app.book_management.repository.SortedBook;
+import com.app.book_management.utils.BookFieldSelector;
+import com.app.book_management.utils.CacheConfig;
+import com.app.book_management.utils.CursorCodec;
+import com.app.book_management.utils.MetricsConfig;
 import com.app.book_management.validator.BookValidator;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Year;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Service class for managing books.
@@ -25,8 +47,18 @@ import java.util.stream.Collectors;
  * BookMapper to map Book for object mapping,
  * and
  * BookValidator to validate dto objects, lists and filters.
+ * Lists of books are returned in keyset paginated pages,
+ * where each page holds a cursor to retrieve the next one.
+ * Service methods hold no monitors while calling the database, so blocking JDBC calls do not pin
+ * carrier threads when requests are handled on virtual threads.
+ * When the in-memory catalog is loaded, books are read from its snapshot instead of the database,
+ * except for ranked keyword search, and every write refreshes changed books in the catalog.
+ * Best rated books per genre are answered from leaderboards of BookLeaderboardService, which every write updates.
+ * Books can be restricted to selected fields, and then only the columns of selected fields are read from the database.
+ * Each public method is timed as "book.service" metric tagged by method name.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class BookService {
@@ -34,6 +66,12 @@ public class BookService {
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookValidator bookValidator;
+    private final CatalogVersionService catalogVersionService;
+    private final RatingBuffer ratingBuffer;
+    private final InMemoryCatalog inMemoryCatalog;
+    private final BookSuggestionService bookSuggestionService;
+    private final BookLeaderboardService bookLeaderboardService;
+    private final CacheManager cacheManager;
 
     /**
      * Retrieves a Book from database with specified id
@@ -44,6 +82,7 @@ public class BookService {
      * @return retrieved Book.
      * @throws ApplicationException if Book with specified id can not be found.
      */
+    @Transactional(readOnly = true)
     public Book findBookById(final Long id) throws ApplicationException {
         return bookRepository.findById(id)
                 .orElseThrow(() -> new ApplicationException("Book where id = " + id + " not found", ErrorCode.BOOK_NOT_FOUND_EXCEPTION));
@@ -53,20 +92,59 @@ public class BookService {
      * Method to retrieve a Book by its id
      * and
      * converts it to a BookResponseDto with average overall rating.
+     * Result is cached by id until the Book is rated or deleted, or the cache entry expires.
      *
      * @param id unique constraint of Book Entity.
      * @return BookResponseDto representing the Book with the specified id.
      * @throws ApplicationException if Book with specified id can not be found.
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookResponseDto getById(final Long id) throws ApplicationException {
+        final Optional<CatalogSnapshot> catalog = inMemoryCatalog.snapshot();
+        if (catalog.isPresent()) {
+            return catalog.get().findBook(id)
+                    .orElseThrow(() -> new ApplicationException("Book where id = " + id + " not found", ErrorCode.BOOK_NOT_FOUND_EXCEPTION));
+        }
         final Book book = findBookById(id);
         final BookResponseDto bookDto = bookMapper.bookToBookResponseDto(book);
-        bookDto.setOverallRating(calculateOverallRating(book.getRatings()));
+        bookDto.setOverallRating(calculateOverallRating(book.getRatingCount(), book.getRatingSum()));
         return bookDto;
     }
 
+    /**
+     * Retrieves selected fields of a Book by its id.
+     * Fields are copied from the in-memory catalog or books cache when the Book is held there,
+     * otherwise only the columns of selected fields are read from the database.
+     * Books are copied, so the cached BookResponseDto is never modified, and result is not cached.
+     *
+     * @param id unique constraint of Book Entity.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return BookResponseDto of the Book with the specified id, where unselected fields are null.
+     * @throws ApplicationException if Book with specified id can not be found, or fields are invalid.
+     */
+    @Transactional(readOnly = true)
+    public BookResponseDto getById(final Long id, final String fields) throws ApplicationException {
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final Optional<CatalogSnapshot> catalog = inMemoryCatalog.snapshot();
+        if (catalog.isPresent()) {
+            return catalog.get().findBook(id)
+                    .map(book -> BookFieldSelector.select(book, selectedFields))
+                    .orElseThrow(() -> new ApplicationException("Book where id = " + id + " not found", ErrorCode.BOOK_NOT_FOUND_EXCEPTION));
+        }
+        final BookResponseDto cachedBook = getCachedBook(id);
+        if (cachedBook != null) {
+            return BookFieldSelector.select(cachedBook, selectedFields);
+        }
+        return bookRepository.findBooks(BookSpecifications.hasId(id), selectedFields, CursorCodec.FIRST_PAGE_ID, 1).stream()
+                .findFirst()
+                .orElseThrow(() -> new ApplicationException("Book where id = " + id + " not found", ErrorCode.BOOK_NOT_FOUND_EXCEPTION));
+    }
+
     /**
      * Creates and saves a new Book with specified details in BookRequestDto.
+     * Books cache is not evicted, as only existing books are cached, and ids of new books are never reused,
+     * but catalog version is bumped.
      *
      * @param dto contains details about new Book.
      * @throws ApplicationException if BookRequestDto does not fit the requirements in validator method.
@@ -75,30 +153,50 @@ public class BookService {
         bookValidator.validateBookRequestDto(dto);
         final Book book = bookMapper.toBook(dto);
         bookRepository.save(book);
+        catalogVersionService.booksAdded();
+        inMemoryCatalog.booksChanged(List.of(book.getId()));
+        bookSuggestionService.booksAdded(List.of(book));
+        bookLeaderboardService.booksChanged(List.of(book.getId()));
         log.info("New book created and saved");
     }
 
     /**
-     * Deletes Book entity by the specified id
+     * Deletes Book entity by the specified id, evicts it from books cache and bumps its version.
+     * Book is looked up in the same read-write transaction, so it is read from the primary database.
      *
      * @param id unique constraint of Book Entity.
      * @throws ApplicationException if Book with specified id can not be found.
      */
+    @Transactional(rollbackFor = ApplicationException.class)
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteBookById(final Long id) throws ApplicationException {
         final Book book = findBookById(id);
         bookRepository.delete(book);
+        catalogVersionService.bookChanged(id);
+        inMemoryCatalog.booksChanged(List.of(id));
+        bookSuggestionService.booksDeleted(List.of(book));
+        bookLeaderboardService.booksChanged(List.of(id));
         log.info("Book where id = " + book.getId() + " successfully deleted");
     }
 
     /**
-     * Retrieves all Books from database.
+     * Retrieves a page of Books from database.
+     * Retrieves one book more than the given limit, so it could be determined whether the next page exists.
      *
-     * @return Book list from the database.
+     * @param afterId the id of the last book of the previous page.
+     * @param limit the maximum number of books in a page.
+     * @param selectedFields fields to retrieve, where unselected fields are left null.
+     * @return BookResponseDto list from the database.
      * @throws ApplicationException if Book database is empty or can not retrieve books.
      */
-    public List<Book> findAllBooks() throws ApplicationException {
-        final List<Book> books = bookRepository.findAll();
-        if (books.isEmpty()) {
+    @Transactional(readOnly = true)
+    public List<BookResponseDto> findAllBooks(final Long afterId, final Integer limit, final Set<BookField> selectedFields)
+            throws ApplicationException {
+        final List<BookResponseDto> books = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksAfter(afterId, limit + 1), selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, Specification.allOf(), afterId, limit,
+                        () -> bookRepository.findBooksAfter(afterId, nextPageRequest(limit))));
+        if (books.isEmpty() && afterId == CursorCodec.FIRST_PAGE_ID) {
             log.error("Can not retrieve books from DB");
             throw new ApplicationException("No books were found", ErrorCode.ZERO_BOOKS_FOUND_EXCEPTION);
         }
@@ -107,179 +205,276 @@ public class BookService {
     }
 
     /**
-     * Retrieves all books from database
-     * and
-     * maps books to BookResponseDto with average overall rating
-     *
-     * @return mapped BookResponseDto list.
-     * @throws ApplicationException if Book database is empty or can not retrieve books.
-     */
-    public List<BookResponseDto> getAllBooks() throws ApplicationException {
-        List<Book> books = findAllBooks();
-        return mapToResponseAndCalculateOverallRatings(books);
-    }
-
-    /**
-     * validates provided list of books,
-     * maps a list of Book entities to a list of BookResponseDto
+     * Validates provided page limit and cursor
      * and
-     * calculates the overall ratings for each book
+     * retrieves a page of books from database as BookResponseDto with average overall rating
      *
-     * @param books a list of Book entities to be mapped.
-     * @return a list of BookResponseDto containing the mapped books with their overall ratings.
-     * @throws ApplicationException if Book list to mapped is null
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of mapped BookResponseDto.
+     * @throws ApplicationException if Book database is empty, can not retrieve books
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> mapToResponseAndCalculateOverallRatings(final List<Book> books) throws ApplicationException {
-        bookValidator.validateBookList(books);
-        final List<BookResponseDto> mappedBooks = bookMapper.booksToBookResponseDtos(books);
-        setOverallRatings(mappedBooks, books);
-        log.info("Books successfully validated and mapped");
-        return mappedBooks;
+    @Transactional(readOnly = true)
+    public BookPageResponseDto getAllBooks(final String after, final Integer limit, final String fields) throws ApplicationException {
+        bookValidator.validatePageLimit(limit);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> books = findAllBooks(CursorCodec.decode(after), limit, selectedFields);
+        return mapToPageResponse(books, limit);
     }
 
     /**
      * Validates provided author String,
-     * retrieves all books from the database,
-     * filters the list of books by the specified author
+     * retrieves books with the specified author from the database
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
      * @param author the name of the author to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified author.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of BookResponseDto containing the mapped books with specified author.
      * @throws ApplicationException if the provided author String is null or empty,
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> filterByAuthor(final String author) throws ApplicationException {
+    @Transactional(readOnly = true)
+    public BookPageResponseDto filterByAuthor(final String author, final String after, final Integer limit,
+                                              final String fields) throws ApplicationException {
         bookValidator.validateStringFilter(author);
+        bookValidator.validatePageLimit(limit);
         log.info("Given author validated");
 
-        final List<Book> filteredBooks = findAllBooks().stream()
-                .filter(book -> book.getAuthor().equalsIgnoreCase(author))
-                .collect(Collectors.toList());
+        final Long afterId = CursorCodec.decode(after);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> filteredBooks = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksByAuthor(author, afterId, limit + 1), selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, BookSpecifications.hasAuthor(author), afterId, limit,
+                        () -> bookRepository.findBooksByAuthor(author, afterId, nextPageRequest(limit))));
         log.info(filteredBooks.size() + " books were found with author = " + author);
-        return mapToResponseAndCalculateOverallRatings(filteredBooks);
+        return mapToPageResponse(filteredBooks, limit);
     }
 
     /**
      * Validates provided keyword String,
-     * retrieves all books from the database,
-     * filters the list of books by the specified keyword
+     * retrieves books which title or description contains all words of the specified keyword from the database,
+     * ordered by relevance,
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
-     * @param keyword the keyword to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified keyword.
+     * @param keyword one or more words to search books by.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @return a page of BookResponseDto containing the mapped books with specified keyword.
      * @throws ApplicationException if the provided keyword String is null or empty,
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit or cursor is invalid.
      */
-    public List<BookResponseDto> searchByKeyword(final String keyword) throws ApplicationException {
+    @Transactional(readOnly = true)
+    public BookPageResponseDto searchByKeyword(final String keyword, final String after, final Integer limit) throws ApplicationException {
         bookValidator.validateStringFilter(keyword);
+        bookValidator.validatePageLimit(limit);
         log.info("Given keyword validated");
 
-        final List<Book> filteredBooks = findAllBooks().stream()
-                .filter(book -> book.getTitle().toLowerCase().contains(keyword.toLowerCase())
-                        || book.getDescription().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
-        log.info(filteredBooks.size() + " books were found with keyword = " + keyword);
-        return mapToResponseAndCalculateOverallRatings(filteredBooks);
+        final CursorCodec.RankedCursor cursor = CursorCodec.decodeRanked(after);
+        final List<RankedBook> foundBooks = bookRepository.searchByKeywords(keyword, cursor.getRank(), cursor.getId(), limit + 1);
+        log.info(foundBooks.size() + " books were found with keyword = " + keyword);
+
+        final boolean hasNextPage = foundBooks.size() > limit;
+        final List<RankedBook> pageBooks = hasNextPage ? foundBooks.subList(0, limit) : foundBooks;
+        final RankedBook lastBook = hasNextPage ? pageBooks.get(limit - 1) : null;
+        return BookPageResponseDto.builder()
+                .books(pageBooks.stream().map(RankedBook::getBook).toList())
+                .nextCursor(lastBook == null ? null : CursorCodec.encodeRanked(lastBook.getRank(), lastBook.getBook().getId()))
+                .build();
+    }
+
+    /**
+     * Validates provided search criteria,
+     * retrieves books matching all of them from the database with a single dynamically built query,
+     * sorted by the requested field,
+     * and
+     * returns the corresponding BookResponseDto representations with their overall ratings.
+     *
+     * @param criteria any combination of author, title, keyword, genre, year range, price range and minimal rating,
+     *                 with sort field and direction.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @return a page of BookResponseDto containing the mapped books matching the criteria.
+     * @throws ApplicationException if the provided criteria do not pass the validation,
+     *                              or
+     *                              the provided limit or cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public BookPageResponseDto searchBooks(final BookSearchCriteriaDto criteria, final String after, final Integer limit) throws ApplicationException {
+        bookValidator.validateSearchCriteria(criteria);
+        bookValidator.validatePageLimit(limit);
+        log.info("Given search criteria validated");
+
+        final CursorCodec.SortedCursor cursor = CursorCodec.decodeSorted(after, criteria.getSort());
+        final List<SortedBook> foundBooks = inMemoryCatalog.snapshot()
+                .map(catalog -> catalog.searchBooks(criteria, cursor.getSortKey(), cursor.getId(), limit + 1))
+                .orElseGet(() -> bookRepository.searchBooks(BookSpecifications.matching(criteria),
+                        criteria.getSort(), criteria.getDirection(), cursor.getSortKey(), cursor.getId(), limit + 1));
+        log.info(foundBooks.size() + " books were found with search criteria = " + criteria);
+
+        final boolean hasNextPage = foundBooks.size() > limit;
+        final List<SortedBook> pageBooks = hasNextPage ? foundBooks.subList(0, limit) : foundBooks;
+        final SortedBook lastBook = hasNextPage ? pageBooks.get(limit - 1) : null;
+        return BookPageResponseDto.builder()
+                .books(pageBooks.stream().map(SortedBook::getBook).toList())
+                .nextCursor(lastBook == null ? null : CursorCodec.encodeSorted(lastBook.getSortKey(), lastBook.getBook().getId()))
+                .build();
     }
 
     /**
      * Validates provided title String,
-     * retrieves all books from the database,
-     * filters the list of books by the specified title
+     * retrieves books with the specified title from the database
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
      * @param title the title to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified title.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of BookResponseDto containing the mapped books with specified title.
      * @throws ApplicationException if the provided title String is null or empty,
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> filterByTitle(final String title) throws ApplicationException {
+    @Transactional(readOnly = true)
+    public BookPageResponseDto filterByTitle(final String title, final String after, final Integer limit,
+                                             final String fields) throws ApplicationException {
         bookValidator.validateStringFilter(title);
+        bookValidator.validatePageLimit(limit);
         log.info("Given title validated");
 
-        List<Book> filteredBooks = findAllBooks().stream()
-                .filter(book -> book.getTitle().equalsIgnoreCase(title))
-                .collect(Collectors.toList());
+        final Long afterId = CursorCodec.decode(after);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> filteredBooks = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksByTitle(title, afterId, limit + 1), selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, BookSpecifications.hasTitle(title), afterId, limit,
+                        () -> bookRepository.findBooksByTitle(title, afterId, nextPageRequest(limit))));
         log.info(filteredBooks.size() + " books were found with title = " + title);
-        return mapToResponseAndCalculateOverallRatings(filteredBooks);
+        return mapToPageResponse(filteredBooks, limit);
     }
 
     /**
      * Validates provided prices, so they would not be null, or minimal price would not be greater than maximum price,
-     * retrieves all books from the database,
-     * filters the list of books by the specified prices
+     * retrieves books within the specified prices from the database
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
      * @param minPrice the minimal price to filter books by.
      * @param maxPrice the maximum price to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified prices.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of BookResponseDto containing the mapped books with specified prices.
      * @throws ApplicationException if the provided prices are null, minimal price is greater than maximum price, minimal price is zero
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> filterInPriceRange(final Double minPrice, final Double maxPrice) throws ApplicationException {
+    @Transactional(readOnly = true)
+    public BookPageResponseDto filterInPriceRange(final Double minPrice, final Double maxPrice,
+                                                  final String after, final Integer limit, final String fields) throws ApplicationException {
         bookValidator.validatePriceRange(minPrice, maxPrice);
+        bookValidator.validatePageLimit(limit);
         log.info("Given prices validated");
 
-        final List<Book> filteredBooks = findAllBooks().stream()
-                .filter(book -> book.getPrice() >= minPrice && book.getPrice() <= maxPrice)
-                .collect(Collectors.toList());
+        final Long afterId = CursorCodec.decode(after);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> filteredBooks = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksInPriceRange(minPrice, maxPrice, afterId, limit + 1),
+                        selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, BookSpecifications.pricedBetween(minPrice, maxPrice), afterId, limit,
+                        () -> bookRepository.findBooksInPriceRange(minPrice, maxPrice, afterId, nextPageRequest(limit))));
         log.info(filteredBooks.size() + " books were found where price is between " + minPrice + " and " + maxPrice);
-        return mapToResponseAndCalculateOverallRatings(filteredBooks);
+        return mapToPageResponse(filteredBooks, limit);
     }
 
     /**
      * Validates provided Year object,
-     * retrieves all books from the database,
-     * filters the list of books by the specified year
+     * retrieves books published in the specified year from the database
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
      * @param year the iso year to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified year.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of BookResponseDto containing the mapped books with specified year.
      * @throws ApplicationException if the provided year is null or in the future,
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> filterByYear(final Year year) throws ApplicationException {
+    @Transactional(readOnly = true)
+    public BookPageResponseDto filterByYear(final Year year, final String after, final Integer limit,
+                                            final String fields) throws ApplicationException {
         bookValidator.validateBookYear(year);
+        bookValidator.validatePageLimit(limit);
         log.info("Given year validated");
 
-        final List<Book> filteredBooks = findAllBooks().stream()
-                .filter(book -> book.getYear().equals(year))
-                .collect(Collectors.toList());
+        final Long afterId = CursorCodec.decode(after);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> filteredBooks = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksByYear(year, afterId, limit + 1), selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, BookSpecifications.publishedBetween(year, year), afterId, limit,
+                        () -> bookRepository.findBooksByYear(year, afterId, nextPageRequest(limit))));
         log.info(filteredBooks.size() + " books were found where date = " + year);
-        return mapToResponseAndCalculateOverallRatings(filteredBooks);
+        return mapToPageResponse(filteredBooks, limit);
     }
 
     /**
      * Validates provided genre enum,
-     * retrieves all books from the database,
-     * filters the list of books by the specified genre
+     * retrieves books with the specified genre from the database
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
      * @param genre the genre to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified genre.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of BookResponseDto containing the mapped books with specified genre.
      * @throws ApplicationException if the provided genre is null
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> filterByGenre(@NotNull final Genre genre) throws ApplicationException {
-        final List<Book> books = bookRepository.findBooksByGenre(String.valueOf(genre));
+    @Transactional(readOnly = true)
+    public BookPageResponseDto filterByGenre(@NotNull final Genre genre, final String after, final Integer limit,
+                                             final String fields) throws ApplicationException {
+        bookValidator.validatePageLimit(limit);
+        final Long afterId = CursorCodec.decode(after);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> books = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksByGenre(genre, afterId, limit + 1), selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, BookSpecifications.hasGenre(genre), afterId, limit,
+                        () -> bookRepository.findBooksByGenre(genre, afterId, nextPageRequest(limit))));
         log.info(books.size() + " books were found where genre = " + genre);
-        return mapToResponseAndCalculateOverallRatings(books);
+        return mapToPageResponse(books, limit);
     }
 
     /**
-     * Adds a rating to Book and saves entity with the specified id.
+     * Adds a rating to Book with the specified id.
+     * Rating aggregates of the Book are updated atomically, which also verifies that the Book exists,
+     * and the rating is appended to book_ratings with a single insert,
+     * so neither the Book nor its existing ratings are loaded, and concurrent ratings never overwrite each other.
+     * Rated Book is evicted from books cache and its version is bumped after the transaction commits,
+     * and once more after the in-memory catalog applied the rating, if enabled.
      *
      * @param bookId unique constraint of Book Entity.
      * @param rating new rating of specified book.
@@ -287,65 +482,198 @@ public class BookService {
      *                              or
      *                              can not retrieve book with specified id.
      */
+    @Transactional(rollbackFor = ApplicationException.class)
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#bookId")
     public void rateBook(final Long bookId, final Integer rating) throws ApplicationException {
         bookValidator.validateBookRating(rating);
         log.info("Given rating validated");
-        final Book book = findBookById(bookId);
-        book.getRatings().add(rating);
-        bookRepository.save(book);
+        if (bookRepository.addRating(bookId, rating) == 0) {
+            throw new ApplicationException("Book where id = " + bookId + " not found", ErrorCode.BOOK_NOT_FOUND_EXCEPTION);
+        }
+        bookRepository.insertRating(bookId, rating);
+        catalogVersionService.bookChanged(bookId);
+        inMemoryCatalog.booksChanged(List.of(bookId));
+        bookLeaderboardService.booksChanged(List.of(bookId));
         log.info("Book rated and saved");
     }
 
+    /**
+     * Checks whether ratings are written in the background with bufferRating instead of rateBook.
+     *
+     * @return true if write-behind buffering of ratings is enabled.
+     */
+    public boolean isRatingBuffered() {
+        return ratingBuffer.isEnabled();
+    }
+
+    /**
+     * Validates a rating of Book with the specified id
+     * and
+     * adds it to the rating buffer, to be written together with other ratings of the Book in the background.
+     * Book existence is verified with findBookById, which is usually answered from second-level cache.
+     * Rated Book is evicted from books cache and its version is bumped once the rating is written.
+     *
+     * @param bookId unique constraint of Book Entity.
+     * @param rating new rating of specified book.
+     * @throws ApplicationException if the rating is null or does not fit the requirements of validator,
+     *                              or
+     *                              can not retrieve book with specified id,
+     *                              or
+     *                              rating buffer is full.
+     */
+    public void bufferRating(final Long bookId, final Integer rating) throws ApplicationException {
+        bookValidator.validateBookRating(rating);
+        findBookById(bookId);
+        ratingBuffer.submit(bookId, rating);
+        log.info("Book rating accepted");
+    }
+
     /**
      * Validates provided Integer rating,
-     * retrieves all books from the database,
-     * filters the list of books by the specified rating
+     * retrieves books with the specified average rating from the database
      * and
-     * returns the corresponding BookResponseDto representations after calculating their overall ratings.
+     * returns the corresponding BookResponseDto representations with their overall ratings.
      *
      * @param rating the rating to filter books by.
-     * @return a list of BookResponseDto containing the mapped books with specified rating.
+     * @param after the cursor of the previous page, or null to retrieve the first page.
+     * @param limit the maximum number of books in a page.
+     * @param fields comma separated names of fields to return, or null to return all fields.
+     * @return a page of BookResponseDto containing the mapped books with specified rating.
      * @throws ApplicationException if the rating is null or does not fit the requirements of validator,
      *                              or
-     *                              can not retrieve books from database.
+     *                              can not retrieve books from database,
+     *                              or
+     *                              the provided limit, cursor or fields are invalid.
      */
-    public List<BookResponseDto> filterBooksByRatings(final Integer rating) throws ApplicationException {
+    @Transactional(readOnly = true)
+    public BookPageResponseDto filterBooksByRatings(final Integer rating, final String after, final Integer limit,
+                                                    final String fields) throws ApplicationException {
         bookValidator.validateBookRating(rating);
+        bookValidator.validatePageLimit(limit);
         log.info("Given rating validated");
-        final List<Book> books = bookRepository.findBooksByAverageRating(rating);
+        final Long afterId = CursorCodec.decode(after);
+        final Set<BookField> selectedFields = BookFieldSelector.parse(fields);
+        final List<BookResponseDto> books = inMemoryCatalog.snapshot()
+                .map(catalog -> BookFieldSelector.select(catalog.findBooksByAverageRating(rating, afterId, limit + 1), selectedFields))
+                .orElseGet(() -> queryBooks(selectedFields, BookSpecifications.hasAverageRating(rating), afterId, limit,
+                        () -> bookRepository.findBooksByAverageRating(rating, afterId, nextPageRequest(limit))));
         log.info(books.size() + " books were found with rating = " + rating);
-        return mapToResponseAndCalculateOverallRatings(books);
+        return mapToPageResponse(books, limit);
     }
 
     /**
-     * Calculates and average overall ratings based on given ratings.
+     * Validates provided prefix and limit
+     * and
+     * retrieves distinct titles and authors of books starting with the prefix, ignoring case,
+     * from the in-memory suggestion index.
+     *
+     * @param prefix the beginning of a title or author.
+     * @param limit the maximum number of suggestions.
+     * @return list of BookSuggestionDto in alphabetical order.
+     * @throws ApplicationException if the provided prefix is null or empty,
+     *                              or
+     *                              the provided limit is invalid.
+     */
+    public List<BookSuggestionDto> suggest(final String prefix, final Integer limit) throws ApplicationException {
+        bookValidator.validateStringFilter(prefix);
+        bookValidator.validatePageLimit(limit);
+        final List<BookSuggestionDto> suggestions = bookSuggestionService.suggest(prefix, limit);
+        log.debug(suggestions.size() + " suggestions were found with prefix = " + prefix);
+        return suggestions;
+    }
+
+    /**
+     * Validates provided count
+     * and
+     * retrieves the best rated books of the specified genre from in-memory leaderboards,
+     * ordered by average rating and number of ratings.
+     *
+     * @param genre the genre of books.
+     * @param count the maximum number of books.
+     * @return list of BookResponseDto without description, best rated first.
+     * @throws ApplicationException if the provided count is null or does not fit the requirements of validator.
+     */
+    public List<BookResponseDto> getTopBooks(@NotNull final Genre genre, final Integer count) throws ApplicationException {
+        bookValidator.validateTopBooksCount(count);
+        final List<BookResponseDto> books = bookLeaderboardService.getTopBooks(genre, count);
+        log.debug(books.size() + " top books were found where genre = " + genre);
+        return books;
+    }
+
+    /**
+     * Creates a page request for one book more than given limit,
+     * so it could be determined whether the next page exists.
+     * Offset is always zero, as pages are selected by keyset predicates.
+     *
+     * @param limit the maximum number of books in a page.
+     * @return page request of limit + 1 books.
+     */
+    private Pageable nextPageRequest(final Integer limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    /**
+     * Retrieves books with given full projection query when all fields are selected,
+     * otherwise with a query of only the columns of selected fields, matching given specification.
+     *
+     * @param selectedFields fields to retrieve.
+     * @param specification criteria books must match, equal to the criteria of the full projection query.
+     * @param afterId the id of the last book of the previous page.
+     * @param limit the maximum number of books in a page.
+     * @param fullQuery BookRepository query retrieving all fields of limit + 1 books.
+     * @return BookResponseDto list of limit + 1 books at most.
+     */
+    private List<BookResponseDto> queryBooks(final Set<BookField> selectedFields, final Specification<Book> specification,
+                                             final Long afterId, final Integer limit,
+                                             final Supplier<List<BookResponseDto>> fullQuery) {
+        if (BookFieldSelector.isAll(selectedFields)) {
+            return fullQuery.get();
+        }
+        return bookRepository.findBooks(specification, selectedFields, afterId, limit + 1);
+    }
+
+    /**
+     * Retrieves a book held by books cache, without loading it.
+     *
+     * @param id unique constraint of Book Entity.
+     * @return cached BookResponseDto, or null if the book is not cached.
+     */
+    private BookResponseDto getCachedBook(final Long id) {
+        final Cache booksCache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        return booksCache == null ? null : booksCache.get(id, BookResponseDto.class);
+    }
+
+    /**
+     * Trims given books to a page of the given limit
+     * and
+     * creates the cursor for the next page if more books were found than the limit.
      *
-     * @param ratings a list of ratings to calculate.
-     * @return calculated average overall rating.
+     * @param books a list of BookResponseDto retrieved with nextPageRequest.
+     * @param limit the maximum number of books in a page.
+     * @return a page of BookResponseDto.
      */
-    private Integer calculateOverallRating(final List<Integer> ratings) {
-        log.info("Calculating overall rating");
-        return (int) ratings.stream()
-                .filter(integer -> integer >= 1 && integer <= 5)
-                .mapToInt(Integer::intValue)
-                .average()
-                .orElse(1);
+    private BookPageResponseDto mapToPageResponse(final List<BookResponseDto> books, final Integer limit) {
+        final boolean hasNextPage = books.size() > limit;
+        final List<BookResponseDto> pageBooks = hasNextPage ? books.subList(0, limit) : books;
+        final String nextCursor = hasNextPage ? CursorCodec.encode(pageBooks.get(limit - 1).getId()) : null;
+        log.info("Page of " + pageBooks.size() + " books prepared");
+        return BookPageResponseDto.builder()
+                .books(pageBooks)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
-     * Calculates and sets the overall ratings for a list of BookResponseFto
-     * based on the corresponding Book entities.
+     * Calculates an average overall rating based on given rating aggregates.
      *
-     * @param mappedBooks a list of BookResponseDto to be updated with overall ratings.
-     * @param booksFromDb a list of Book entities containing a list of ratings.
+     * @param ratingCount the number of ratings of a book.
+     * @param ratingSum the sum of ratings of a book.
+     * @return calculated average overall rating, or 1 if book has not been rated yet.
      */
-    private void setOverallRatings(final List<BookResponseDto> mappedBooks, final List<Book> booksFromDb) {
-        for (int i = 0; i < mappedBooks.size(); i++) {
-            final Book book = booksFromDb.get(i);
-            final BookResponseDto dto = mappedBooks.get(i);
-            final Integer overallRating = calculateOverallRating(book.getRatings());
-            dto.setOverallRating(overallRating);
+    private Integer calculateOverallRating(final Long ratingCount, final Long ratingSum) {
+        if (ratingCount == null || ratingCount == 0) {
+            return 1;
         }
-        log.info("Overall books rating calculated and set");
+        return (int) (ratingSum / ratingCount);
     }
 }
@@ -0,0 +1,248 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSuggestionDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.SuggestionField;
+import com.app.book_management.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service class for autocomplete suggestions of book titles and authors.
+ * Distinct titles and authors of all books are kept in memory in a sorted array of case folded suggestions,
+ * so suggestions starting with a prefix are found with a binary search, without touching the database.
+ * Index is loaded from the primary database once the application is ready
+ * and updated after transactions adding or deleting books commit.
+ * Updates are keyed by book id, so applying the same book twice never counts its title or author twice.
+ * Reads take the current array without locking, while updates are serialized and replace the array with a new one.
+ * Loading holds the update lock until loaded books are applied, so books deleted meanwhile are removed afterwards.
+ */
+@Service
+@Slf4j
+public class BookSuggestionService {
+
+    private static final Comparator<Suggestion> SUGGESTION_ORDER = Comparator.comparing(Suggestion::key)
+            .thenComparing(Suggestion::text)
+            .thenComparing(Suggestion::field);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock updateLock = new ReentrantLock();
+    private final Map<Long, BookNames> indexedBooks = new HashMap<>();
+    private final Map<Suggestion, Integer> bookCounts = new HashMap<>();
+
+    private volatile Suggestion[] suggestions = new Suggestion[0];
+
+    public BookSuggestionService(final BookRepository bookRepository, final PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Loads titles and authors of all books.
+     * Books are read within a read-write transaction, so they are read from the primary database.
+     * If books can not be loaded, the index stays empty and only books added later are suggested.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        updateLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<BookResponseDto> books = bookRepository.streamAllBooks()) {
+                    apply(books.map(book -> new BookNames(book.getId(), book.getTitle(), book.getAuthor())).toList(), List.of());
+                }
+            });
+            log.info(suggestions.length + " title and author suggestions loaded");
+        } catch (RuntimeException e) {
+            log.error("Can not load title and author suggestions, suggestions stay empty", e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Finds distinct titles and authors starting with provided prefix, ignoring case,
+     * in alphabetical order.
+     *
+     * @param prefix the beginning of a title or author.
+     * @param limit the maximum number of suggestions.
+     * @return list of BookSuggestionDto.
+     */
+    public List<BookSuggestionDto> suggest(final String prefix, final int limit) {
+        final Suggestion[] current = suggestions;
+        final String key = fold(prefix);
+        final List<BookSuggestionDto> found = new ArrayList<>(Math.min(limit, 16));
+        for (int i = firstAtLeast(current, key); i < current.length && found.size() < limit
+                && current[i].key().startsWith(key); i++) {
+            found.add(new BookSuggestionDto(current[i].text(), current[i].field()));
+        }
+        return found;
+    }
+
+    /**
+     * Adds titles and authors of provided books,
+     * after the current transaction commits or immediately if there is no transaction.
+     *
+     * @param books saved books.
+     */
+    public void booksAdded(final Collection<Book> books) {
+        final List<BookNames> added = books.stream().map(BookNames::of).toList();
+        afterCommit(() -> apply(added, List.of()));
+    }
+
+    /**
+     * Removes titles and authors of provided books, unless other books still have them,
+     * after the current transaction commits or immediately if there is no transaction.
+     *
+     * @param books deleted books.
+     */
+    public void booksDeleted(final Collection<Book> books) {
+        final List<Long> deleted = books.stream().map(Book::getId).toList();
+        afterCommit(() -> apply(List.of(), deleted));
+    }
+
+    private void afterCommit(final Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Counts books per suggestion and replaces the array with a copy
+     * where suggestions which got their first book are inserted and suggestions which lost their last book are removed.
+     */
+    private void apply(final List<BookNames> added, final List<Long> deletedIds) {
+        updateLock.lock();
+        try {
+            final Set<Suggestion> inserted = new HashSet<>();
+            final Set<Suggestion> removed = new HashSet<>();
+            for (final BookNames book : added) {
+                if (indexedBooks.putIfAbsent(book.id(), book) == null) {
+                    book.suggestions().forEach(suggestion -> {
+                        if (bookCounts.merge(suggestion, 1, Integer::sum) == 1) {
+                            inserted.add(suggestion);
+                        }
+                    });
+                }
+            }
+            for (final Long id : deletedIds) {
+                final BookNames book = indexedBooks.remove(id);
+                if (book != null) {
+                    book.suggestions().forEach(suggestion -> {
+                        if (bookCounts.merge(suggestion, -1, Integer::sum) == 0) {
+                            bookCounts.remove(suggestion);
+                            if (!inserted.remove(suggestion)) {
+                                removed.add(suggestion);
+                            }
+                        }
+                    });
+                }
+            }
+            if (inserted.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            suggestions = merge(suggestions, removed, inserted.stream().sorted(SUGGESTION_ORDER).toList());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Merges sorted suggestions with sorted inserted suggestions in a single pass, leaving out removed suggestions.
+     */
+    private static Suggestion[] merge(final Suggestion[] sortedSuggestions, final Set<Suggestion> removed,
+                                      final List<Suggestion> inserted) {
+        final Suggestion[] merged = new Suggestion[sortedSuggestions.length - removed.size() + inserted.size()];
+        int size = 0;
+        int next = 0;
+        for (final Suggestion suggestion : inserted) {
+            while (next < sortedSuggestions.length && SUGGESTION_ORDER.compare(sortedSuggestions[next], suggestion) < 0) {
+                if (!removed.contains(sortedSuggestions[next])) {
+                    merged[size++] = sortedSuggestions[next];
+                }
+                next++;
+            }
+            merged[size++] = suggestion;
+        }
+        for (; next < sortedSuggestions.length; next++) {
+            if (!removed.contains(sortedSuggestions[next])) {
+                merged[size++] = sortedSuggestions[next];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return position of the first suggestion which key is greater than or equal to provided key.
+     */
+    private static int firstAtLeast(final Suggestion[] sortedSuggestions, final String key) {
+        int low = 0;
+        int high = sortedSuggestions.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sortedSuggestions[middle].key().compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String fold(final String text) {
+        return text.stripLeading().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Title or author of at least one book, with its case folded key.
+     */
+    private record Suggestion(String key, String text, SuggestionField field) {
+
+        private Suggestion(final String text, final SuggestionField field) {
+            this(fold(text), text, field);
+        }
+    }
+
+    /**
+     * Title and author of an indexed book.
+     */
+    private record BookNames(Long id, String title, String author) {
+
+        private static BookNames of(final Book book) {
+            return new BookNames(book.getId(), book.getTitle(), book.getAuthor());
+        }
+
+        private List<Suggestion> suggestions() {
+            return List.of(new Suggestion(title, SuggestionField.TITLE), new Suggestion(author, SuggestionField.AUTHOR));
+        }
+    }
+}
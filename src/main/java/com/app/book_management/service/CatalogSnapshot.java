@@ -0,0 +1,650 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
+import com.app.book_management.model.BookSortField;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookSearchRepositoryImpl;
+import com.app.book_management.repository.CatalogBook;
+import com.app.book_management.repository.SortedBook;
+import com.app.book_management.utils.CursorCodec;
+import org.springframework.data.domain.Sort;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of the in-memory book catalog, held by InMemoryCatalog.
+ * Books are indexed by id, and their ids by author and title ignoring case, by genre, year and rounded average rating,
+ * and by price in a sorted price index.
+ * Every index holds ids in ascending order, so pages are selected by keyset the same way as in BookRepository list queries.
+ * Snapshot is never modified: changed books are applied to a copy, which shares all maps and id buckets
+ * the changed books do not belong to, so a change copies only a shard of books and the buckets of changed keys.
+ */
+public final class CatalogSnapshot {
+
+    private static final int BOOK_SHARDS = 64;
+    private static final long[] NO_IDS = new long[0];
+
+    private final ShardedMap<Long, CatalogBook> booksById;
+    private final long[] ids;
+    private final ShardedMap<String, long[]> idsByAuthor;
+    private final ShardedMap<String, long[]> idsByTitle;
+    private final ShardedMap<Genre, long[]> idsByGenre;
+    private final ShardedMap<Year, long[]> idsByYear;
+    private final ShardedMap<Integer, long[]> idsByRating;
+    private final PriceIndex priceIndex;
+
+    private CatalogSnapshot(final ShardedMap<Long, CatalogBook> booksById, final long[] ids,
+                            final ShardedMap<String, long[]> idsByAuthor, final ShardedMap<String, long[]> idsByTitle,
+                            final ShardedMap<Genre, long[]> idsByGenre, final ShardedMap<Year, long[]> idsByYear,
+                            final ShardedMap<Integer, long[]> idsByRating, final PriceIndex priceIndex) {
+        this.booksById = booksById;
+        this.ids = ids;
+        this.idsByAuthor = idsByAuthor;
+        this.idsByTitle = idsByTitle;
+        this.idsByGenre = idsByGenre;
+        this.idsByYear = idsByYear;
+        this.idsByRating = idsByRating;
+        this.priceIndex = priceIndex;
+    }
+
+    /**
+     * Creates a snapshot of given books with all indexes built at once.
+     *
+     * @param books all books of the catalog.
+     * @return snapshot of given books.
+     */
+    static CatalogSnapshot of(final Collection<CatalogBook> books) {
+        final List<CatalogBook> sortedBooks = books.stream().sorted(Comparator.comparing(CatalogBook::getId)).toList();
+        final Map<Long, CatalogBook> booksById = new HashMap<>();
+        sortedBooks.forEach(book -> booksById.put(book.getId(), book));
+        return new CatalogSnapshot(
+                ShardedMap.of(booksById, BOOK_SHARDS),
+                sortedBooks.stream().mapToLong(CatalogBook::getId).toArray(),
+                buildIndex(sortedBooks, CatalogSnapshot::authorKey, BOOK_SHARDS),
+                buildIndex(sortedBooks, CatalogSnapshot::titleKey, BOOK_SHARDS),
+                buildIndex(sortedBooks, CatalogBook::getGenre, 1),
+                buildIndex(sortedBooks, CatalogBook::getYear, 1),
+                buildIndex(sortedBooks, CatalogBook::getRoundedAverageRating, 1),
+                PriceIndex.of(sortedBooks));
+    }
+
+    /**
+     * Creates a copy of this snapshot with given books refreshed.
+     * Books with given ids which are not among the refreshed books are removed from the copy.
+     *
+     * @param changedIds ids of changed books.
+     * @param refreshedBooks current state of changed books which still exist.
+     * @return snapshot with changed books applied.
+     */
+    CatalogSnapshot with(final Collection<Long> changedIds, final Collection<CatalogBook> refreshedBooks) {
+        final Map<Long, CatalogBook> refreshedById = new HashMap<>();
+        refreshedBooks.forEach(book -> refreshedById.put(book.getId(), book));
+        final Map<Long, CatalogBook> changedBooks = new HashMap<>();
+        final List<CatalogBook> removed = new ArrayList<>();
+        final List<CatalogBook> added = new ArrayList<>();
+        final List<CatalogBook> deleted = new ArrayList<>();
+        final List<CatalogBook> created = new ArrayList<>();
+        for (final Long id : new LinkedHashSet<>(changedIds)) {
+            final CatalogBook previous = booksById.get(id);
+            final CatalogBook refreshed = refreshedById.get(id);
+            if (previous == null && refreshed == null) {
+                continue;
+            }
+            changedBooks.put(id, refreshed);
+            if (previous != null) {
+                removed.add(previous);
+            }
+            if (refreshed != null) {
+                added.add(refreshed);
+            }
+            if (refreshed == null) {
+                deleted.add(previous);
+            } else if (previous == null) {
+                created.add(refreshed);
+            }
+        }
+        if (changedBooks.isEmpty()) {
+            return this;
+        }
+        final long[] mergedIds = deleted.isEmpty() && created.isEmpty()
+                ? ids
+                : mergeIds(ids, toSortedIds(deleted), toSortedIds(created));
+        return new CatalogSnapshot(
+                booksById.withAll(changedBooks),
+                mergedIds == null ? NO_IDS : mergedIds,
+                reindex(idsByAuthor, CatalogSnapshot::authorKey, removed, added),
+                reindex(idsByTitle, CatalogSnapshot::titleKey, removed, added),
+                reindex(idsByGenre, CatalogBook::getGenre, removed, added),
+                reindex(idsByYear, CatalogBook::getYear, removed, added),
+                reindex(idsByRating, CatalogBook::getRoundedAverageRating, removed, added),
+                priceIndex.with(removed, added));
+    }
+
+    /**
+     * @return number of books in the catalog.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Retrieves a book by its id.
+     *
+     * @param id unique constraint of Book Entity.
+     * @return BookResponseDto of the book, or empty if it does not exist.
+     */
+    public Optional<BookResponseDto> findBook(final Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(booksById.get(id)).map(CatalogBook::toBookResponseDto);
+    }
+
+    /**
+     * Retrieves a page of all books.
+     *
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto with id greater than provided afterId, ordered by id.
+     */
+    public List<BookResponseDto> findBooksAfter(final long afterId, final int count) {
+        return page(ids, afterId, count);
+    }
+
+    /**
+     * Retrieves books written by provided author, ignoring case.
+     *
+     * @param author an author to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto with provided author, ordered by id.
+     */
+    public List<BookResponseDto> findBooksByAuthor(final String author, final long afterId, final int count) {
+        return page(idsByAuthor.get(author.toLowerCase(Locale.ROOT)), afterId, count);
+    }
+
+    /**
+     * Retrieves books with provided title, ignoring case.
+     *
+     * @param title a title to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto with provided title, ordered by id.
+     */
+    public List<BookResponseDto> findBooksByTitle(final String title, final long afterId, final int count) {
+        return page(idsByTitle.get(title.toLowerCase(Locale.ROOT)), afterId, count);
+    }
+
+    /**
+     * Retrieves books based on provided genre.
+     *
+     * @param genre a genre to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto with provided genre, ordered by id.
+     */
+    public List<BookResponseDto> findBooksByGenre(final Genre genre, final long afterId, final int count) {
+        return page(idsByGenre.get(genre), afterId, count);
+    }
+
+    /**
+     * Retrieves books published in provided year.
+     *
+     * @param year a year to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto published in provided year, ordered by id.
+     */
+    public List<BookResponseDto> findBooksByYear(final Year year, final long afterId, final int count) {
+        return page(idsByYear.get(year), afterId, count);
+    }
+
+    /**
+     * Retrieves books based on provided average rating, rounded half up.
+     *
+     * @param rating a rating to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto with provided rating, ordered by id.
+     */
+    public List<BookResponseDto> findBooksByAverageRating(final Integer rating, final long afterId, final int count) {
+        return page(idsByRating.get(rating), afterId, count);
+    }
+
+    /**
+     * Retrieves books which price is within provided range, inclusive.
+     * Ids of books within the range are taken from the price index and sorted,
+     * unless the range holds so many books that scanning all ids in order is cheaper.
+     *
+     * @param minPrice the minimal price to filter books by.
+     * @param maxPrice the maximum price to filter books by.
+     * @param afterId the id of the last book of the previous page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of BookResponseDto within provided price range, ordered by id.
+     */
+    public List<BookResponseDto> findBooksInPriceRange(final Double minPrice, final Double maxPrice,
+                                                       final long afterId, final int count) {
+        final int from = priceIndex.firstAtLeast(minPrice);
+        final int to = priceIndex.firstAbove(maxPrice);
+        final long inRange = Math.max(0, to - from);
+        if (inRange * inRange > (long) count * ids.length) {
+            final List<BookResponseDto> books = new ArrayList<>(count);
+            for (int i = firstAfter(ids, afterId); i < ids.length && books.size() < count; i++) {
+                final CatalogBook book = booksById.get(ids[i]);
+                if (book.getPrice() >= minPrice && book.getPrice() <= maxPrice) {
+                    books.add(book.toBookResponseDto());
+                }
+            }
+            return books;
+        }
+        final long[] idsInRange = priceIndex.idsBetween(from, to);
+        Arrays.sort(idsInRange);
+        return page(idsInRange, afterId, count);
+    }
+
+    /**
+     * Retrieves books matching all provided search criteria, sorted by the requested field the same way
+     * as BookCriteriaRepository, where unrated books have rating 0 and books with equal sort field values are ordered by id.
+     * Candidates are taken from the most selective index of the provided author, title and genre,
+     * and matched against the remaining criteria.
+     * Titles are compared by their Unicode values, which may differ from the collation of the database.
+     *
+     * @param criteria search criteria, where absent or blank criteria are ignored.
+     * @param afterKey the sort field value of the last book of the previous page.
+     * @param afterId the id of the last book of the previous page, or FIRST_PAGE_ID for the first page.
+     * @param count the maximum number of books to retrieve.
+     * @return list of SortedBook matching the criteria.
+     */
+    public List<SortedBook> searchBooks(final BookSearchCriteriaDto criteria, final Object afterKey,
+                                        final long afterId, final int count) {
+        final BookSortField sortField = criteria.getSort();
+        final boolean ascending = criteria.getDirection() == Sort.Direction.ASC;
+        final List<String> words = isPresent(criteria.getKeyword())
+                ? BookSearchRepositoryImpl.searchWords(criteria.getKeyword())
+                : List.of();
+
+        final List<CatalogBook> found = new ArrayList<>();
+        for (final long id : searchCandidates(criteria)) {
+            final CatalogBook book = booksById.get(id);
+            if (matches(book, criteria, words) && (afterId == CursorCodec.FIRST_PAGE_ID
+                    || compare(sortKey(book, sortField), id, afterKey, afterId, sortField, ascending) > 0)) {
+                found.add(book);
+            }
+        }
+        return found.stream()
+                .sorted((first, second) -> compare(sortKey(first, sortField), first.getId(),
+                        sortKey(second, sortField), second.getId(), sortField, ascending))
+                .limit(count)
+                .map(book -> new SortedBook(book.toBookResponseDto(), sortKey(book, sortField)))
+                .toList();
+    }
+
+    private long[] searchCandidates(final BookSearchCriteriaDto criteria) {
+        long[] candidates = ids;
+        if (isPresent(criteria.getAuthor())) {
+            candidates = smaller(candidates, idsByAuthor.get(criteria.getAuthor().toLowerCase(Locale.ROOT)));
+        }
+        if (isPresent(criteria.getTitle())) {
+            candidates = smaller(candidates, idsByTitle.get(criteria.getTitle().toLowerCase(Locale.ROOT)));
+        }
+        if (criteria.getGenre() != null) {
+            candidates = smaller(candidates, idsByGenre.get(criteria.getGenre()));
+        }
+        return candidates;
+    }
+
+    private static long[] smaller(final long[] candidates, final long[] bucket) {
+        if (bucket == null) {
+            return NO_IDS;
+        }
+        return bucket.length < candidates.length ? bucket : candidates;
+    }
+
+    private static boolean matches(final CatalogBook book, final BookSearchCriteriaDto criteria, final List<String> words) {
+        if (isPresent(criteria.getAuthor()) && !authorKey(book).equals(criteria.getAuthor().toLowerCase(Locale.ROOT))
+                || isPresent(criteria.getTitle()) && !titleKey(book).equals(criteria.getTitle().toLowerCase(Locale.ROOT))
+                || criteria.getGenre() != null && book.getGenre() != criteria.getGenre()
+                || criteria.getMinYear() != null && book.getYear().isBefore(criteria.getMinYear())
+                || criteria.getMaxYear() != null && book.getYear().isAfter(criteria.getMaxYear())
+                || criteria.getMinPrice() != null && book.getPrice() < criteria.getMinPrice()
+                || criteria.getMaxPrice() != null && book.getPrice() > criteria.getMaxPrice()
+                || criteria.getMinRating() != null && (book.getRoundedAverageRating() == null
+                || book.getRoundedAverageRating() < criteria.getMinRating())) {
+            return false;
+        }
+        if (words.isEmpty()) {
+            return true;
+        }
+        final String title = book.getTitle().toLowerCase(Locale.ROOT);
+        final String description = book.getDescription().toLowerCase(Locale.ROOT);
+        return words.stream().allMatch(word -> title.contains(word) || description.contains(word));
+    }
+
+    private static Object sortKey(final CatalogBook book, final BookSortField sortField) {
+        return switch (sortField) {
+            case ID -> book.getId();
+            case TITLE -> book.getTitle();
+            case PRICE -> book.getPrice();
+            case YEAR -> book.getYear();
+            case RATING -> book.getRoundedAverageRating() == null ? 0 : book.getRoundedAverageRating();
+        };
+    }
+
+    /**
+     * Compares positions of two books in search results sorted by given field.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(final Object key, final long id, final Object otherKey, final long otherId,
+                               final BookSortField sortField, final boolean ascending) {
+        if (sortField == BookSortField.ID) {
+            return ascending ? Long.compare(id, otherId) : Long.compare(otherId, id);
+        }
+        final int byKey = ((Comparable) key).compareTo(otherKey);
+        if (byKey != 0) {
+            return ascending ? byKey : -byKey;
+        }
+        return Long.compare(id, otherId);
+    }
+
+    private static boolean isPresent(final String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private List<BookResponseDto> page(final long[] bucket, final long afterId, final int count) {
+        if (bucket == null) {
+            return List.of();
+        }
+        final int from = firstAfter(bucket, afterId);
+        final int to = (int) Math.min(bucket.length, (long) from + count);
+        final List<BookResponseDto> books = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            books.add(booksById.get(bucket[i]).toBookResponseDto());
+        }
+        return books;
+    }
+
+    private static int firstAfter(final long[] sortedIds, final long afterId) {
+        final int position = Arrays.binarySearch(sortedIds, afterId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static String authorKey(final CatalogBook book) {
+        return book.getAuthor().toLowerCase(Locale.ROOT);
+    }
+
+    private static String titleKey(final CatalogBook book) {
+        return book.getTitle().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] toSortedIds(final List<CatalogBook> books) {
+        return books.stream().mapToLong(CatalogBook::getId).sorted().toArray();
+    }
+
+    /**
+     * Builds an index of ids of given books, ordered by id, by given key. Books without key are not indexed.
+     */
+    private static <K> ShardedMap<K, long[]> buildIndex(final List<CatalogBook> sortedBooks,
+                                                        final Function<CatalogBook, K> key, final int shards) {
+        final Map<K, List<Long>> idLists = new HashMap<>();
+        for (final CatalogBook book : sortedBooks) {
+            final K value = key.apply(book);
+            if (value != null) {
+                idLists.computeIfAbsent(value, ignored -> new ArrayList<>()).add(book.getId());
+            }
+        }
+        final Map<K, long[]> buckets = new HashMap<>();
+        idLists.forEach((value, idList) -> buckets.put(value, idList.stream().mapToLong(Long::longValue).toArray()));
+        return ShardedMap.of(buckets, shards);
+    }
+
+    /**
+     * Copies buckets of given index which ids of removed or added books belong to.
+     * Books which keep their key are left in their bucket, so most refreshes do not copy large buckets
+     * such as genres or ratings.
+     */
+    private static <K> ShardedMap<K, long[]> reindex(final ShardedMap<K, long[]> index, final Function<CatalogBook, K> key,
+                                                     final List<CatalogBook> removed, final List<CatalogBook> added) {
+        final Map<K, Set<Long>> removedByKey = groupIds(removed, key);
+        final Map<K, Set<Long>> addedByKey = groupIds(added, key);
+        final Map<K, long[]> changedBuckets = new HashMap<>();
+        final Set<K> changedKeys = new LinkedHashSet<>(removedByKey.keySet());
+        changedKeys.addAll(addedByKey.keySet());
+        for (final K value : changedKeys) {
+            final Set<Long> removedIds = new LinkedHashSet<>(removedByKey.getOrDefault(value, Set.of()));
+            final Set<Long> addedIds = new LinkedHashSet<>(addedByKey.getOrDefault(value, Set.of()));
+            final Set<Long> keptIds = new LinkedHashSet<>(removedIds);
+            keptIds.retainAll(addedIds);
+            removedIds.removeAll(keptIds);
+            addedIds.removeAll(keptIds);
+            if (!removedIds.isEmpty() || !addedIds.isEmpty()) {
+                final long[] bucket = index.get(value);
+                changedBuckets.put(value, mergeIds(bucket == null ? NO_IDS : bucket,
+                        removedIds.stream().mapToLong(Long::longValue).sorted().toArray(),
+                        addedIds.stream().mapToLong(Long::longValue).sorted().toArray()));
+            }
+        }
+        return changedBuckets.isEmpty() ? index : index.withAll(changedBuckets);
+    }
+
+    private static <K> Map<K, Set<Long>> groupIds(final List<CatalogBook> books, final Function<CatalogBook, K> key) {
+        final Map<K, Set<Long>> idsByKey = new HashMap<>();
+        for (final CatalogBook book : books) {
+            final K value = key.apply(book);
+            if (value != null) {
+                idsByKey.computeIfAbsent(value, ignored -> new LinkedHashSet<>()).add(book.getId());
+            }
+        }
+        return idsByKey;
+    }
+
+    /**
+     * Merges sorted ids with sorted removed and added ids in a single pass.
+     * Ids both removed and added are kept.
+     *
+     * @return merged sorted ids, or null if no ids are left.
+     */
+    static long[] mergeIds(final long[] sortedIds, final long[] removedIds, final long[] addedIds) {
+        final long[] merged = new long[sortedIds.length + addedIds.length];
+        int size = 0;
+        int next = 0;
+        int removed = 0;
+        int added = 0;
+        while (next < sortedIds.length || added < addedIds.length) {
+            if (added == addedIds.length || next < sortedIds.length && sortedIds[next] < addedIds[added]) {
+                final long id = sortedIds[next++];
+                while (removed < removedIds.length && removedIds[removed] < id) {
+                    removed++;
+                }
+                if (removed == removedIds.length || removedIds[removed] != id) {
+                    merged[size++] = id;
+                }
+            } else {
+                if (next < sortedIds.length && sortedIds[next] == addedIds[added]) {
+                    next++;
+                }
+                merged[size++] = addedIds[added++];
+            }
+        }
+        return size == 0 ? null : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Immutable map split into shards by key hash, so a copy with changed entries copies only the shards they belong to.
+     */
+    private static final class ShardedMap<K, V> {
+
+        private final List<Map<K, V>> shards;
+
+        private ShardedMap(final List<Map<K, V>> shards) {
+            this.shards = shards;
+        }
+
+        private static <K, V> ShardedMap<K, V> of(final Map<K, V> entries, final int shardCount) {
+            final List<Map<K, V>> shards = new ArrayList<>(shardCount);
+            for (int i = 0; i < shardCount; i++) {
+                shards.add(new HashMap<>());
+            }
+            final ShardedMap<K, V> map = new ShardedMap<>(shards);
+            entries.forEach((key, value) -> shards.get(map.shardOf(key)).put(key, value));
+            shards.replaceAll(Collections::unmodifiableMap);
+            return map;
+        }
+
+        private V get(final K key) {
+            return shards.get(shardOf(key)).get(key);
+        }
+
+        /**
+         * Creates a copy with given entries put, where null values remove their keys.
+         */
+        private ShardedMap<K, V> withAll(final Map<K, V> changes) {
+            final List<Map<K, V>> copiedShards = new ArrayList<>(shards);
+            final Map<Integer, Map<K, V>> changedShards = new HashMap<>();
+            changes.forEach((key, value) -> {
+                final Map<K, V> shard = changedShards.computeIfAbsent(shardOf(key), i -> new HashMap<>(shards.get(i)));
+                if (value == null) {
+                    shard.remove(key);
+                } else {
+                    shard.put(key, value);
+                }
+            });
+            changedShards.forEach((i, shard) -> copiedShards.set(i, Collections.unmodifiableMap(shard)));
+            return new ShardedMap<>(Collections.unmodifiableList(copiedShards));
+        }
+
+        private int shardOf(final Object key) {
+            final int hash = key.hashCode();
+            return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+        }
+    }
+
+    /**
+     * Immutable index of book ids sorted by price and then by id.
+     */
+    private static final class PriceIndex {
+
+        private final double[] prices;
+        private final long[] ids;
+
+        private PriceIndex(final double[] prices, final long[] ids) {
+            this.prices = prices;
+            this.ids = ids;
+        }
+
+        private static PriceIndex of(final List<CatalogBook> books) {
+            final List<CatalogBook> sortedBooks = books.stream().sorted(PriceIndex::compare).toList();
+            return new PriceIndex(sortedBooks.stream().mapToDouble(CatalogBook::getPrice).toArray(),
+                    sortedBooks.stream().mapToLong(CatalogBook::getId).toArray());
+        }
+
+        /**
+         * Creates a copy with removed and added books merged in a single pass.
+         * Books which keep their price are left in place.
+         */
+        private PriceIndex with(final List<CatalogBook> removed, final List<CatalogBook> added) {
+            final Map<Long, Double> addedPrices = new HashMap<>();
+            added.forEach(book -> addedPrices.put(book.getId(), book.getPrice()));
+            final List<CatalogBook> removedBooks = removed.stream()
+                    .filter(book -> !book.getPrice().equals(addedPrices.get(book.getId())))
+                    .sorted(PriceIndex::compare)
+                    .toList();
+            final Map<Long, Double> removedPrices = new HashMap<>();
+            removed.forEach(book -> removedPrices.put(book.getId(), book.getPrice()));
+            final List<CatalogBook> addedBooks = added.stream()
+                    .filter(book -> !book.getPrice().equals(removedPrices.get(book.getId())))
+                    .sorted(PriceIndex::compare)
+                    .toList();
+            if (removedBooks.isEmpty() && addedBooks.isEmpty()) {
+                return this;
+            }
+
+            final int capacity = ids.length + addedBooks.size();
+            final double[] mergedPrices = new double[capacity];
+            final long[] mergedIds = new long[capacity];
+            int size = 0;
+            int next = 0;
+            int removedNext = 0;
+            int addedNext = 0;
+            while (next < ids.length || addedNext < addedBooks.size()) {
+                if (addedNext == addedBooks.size() || next < ids.length
+                        && compare(prices[next], ids[next], addedBooks.get(addedNext)) < 0) {
+                    while (removedNext < removedBooks.size()
+                            && compare(prices[next], ids[next], removedBooks.get(removedNext)) > 0) {
+                        removedNext++;
+                    }
+                    if (removedNext == removedBooks.size()
+                            || compare(prices[next], ids[next], removedBooks.get(removedNext)) != 0) {
+                        mergedPrices[size] = prices[next];
+                        mergedIds[size++] = ids[next];
+                    }
+                    next++;
+                } else {
+                    mergedPrices[size] = addedBooks.get(addedNext).getPrice();
+                    mergedIds[size++] = addedBooks.get(addedNext++).getId();
+                }
+            }
+            return new PriceIndex(Arrays.copyOf(mergedPrices, size), Arrays.copyOf(mergedIds, size));
+        }
+
+        /**
+         * @return position of the first book with price greater than or equal to given price.
+         */
+        private int firstAtLeast(final double price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (prices[middle] < price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return position of the first book with price greater than given price.
+         */
+        private int firstAbove(final double price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (prices[middle] <= price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private long[] idsBetween(final int from, final int to) {
+            return from >= to ? NO_IDS : Arrays.copyOfRange(ids, from, to);
+        }
+
+        private static int compare(final CatalogBook first, final CatalogBook second) {
+            return compare(first.getPrice(), first.getId(), second);
+        }
+
+        private static int compare(final double price, final long id, final CatalogBook book) {
+            final int byPrice = Double.compare(price, book.getPrice());
+            return byPrice != 0 ? byPrice : Long.compare(id, book.getId());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.book_management.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for tracking versions of the book catalog, used as ETags of book responses.
+ * Catalog version is a monotonically increasing counter bumped on every change of any book,
+ * and the version of a single book is the catalog version of its last change.
+ * Leaderboards have a version of their own, bumped whenever published top books change,
+ * as they are re-ranked in the background after the change of a book commits.
+ * Versions are kept in memory and prefixed with the instance start time,
+ * so ETags issued before a restart never match and clients can be answered without touching the database.
+ */
+@Service
+public class CatalogVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong leaderboardVersion = new AtomicLong();
+    private final Map<Long, Long> bookVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns ETag of responses listing books, changing whenever any book changes.
+     * Must be read before the books are retrieved, so responses are never tagged newer than their content.
+     *
+     * @return weak ETag of the current catalog version.
+     */
+    public String getCatalogETag() {
+        return toETag(catalogVersion.get());
+    }
+
+    /**
+     * Returns ETag of responses of a single book, changing whenever the book changes.
+     *
+     * @param bookId unique constraint of Book Entity.
+     * @return weak ETag of the current version of the book.
+     */
+    public String getBookETag(final Long bookId) {
+        return toETag(bookVersions.getOrDefault(bookId, 0L));
+    }
+
+    /**
+     * Returns ETag of responses listing top books, changing whenever published top books of any genre change.
+     * Must be read before the top books are retrieved, so responses are never tagged newer than their content.
+     *
+     * @return weak ETag of the current leaderboard version.
+     */
+    public String getLeaderboardETag() {
+        return toETag("top-" + leaderboardVersion.get());
+    }
+
+    /**
+     * Bumps leaderboard version after top books were published.
+     */
+    public void leaderboardChanged() {
+        leaderboardVersion.incrementAndGet();
+    }
+
+    /**
+     * Bumps catalog version and the version of provided book,
+     * after the current transaction commits or immediately if there is no transaction.
+     *
+     * @param bookId unique constraint of changed Book Entity.
+     */
+    public void bookChanged(final Long bookId) {
+        afterCommit(() -> bookVersions.put(bookId, catalogVersion.incrementAndGet()));
+    }
+
+    /**
+     * Bumps catalog version after books were added,
+     * after the current transaction commits or immediately if there is no transaction.
+     */
+    public void booksAdded() {
+        afterCommit(catalogVersion::incrementAndGet);
+    }
+
+    private void afterCommit(final Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+
+    private String toETag(final Object version) {
+        return "W/\"" + epoch + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,186 @@
+package com.app.book_management.service;
+
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.repository.CatalogBook;
+import com.app.book_management.utils.CacheConfig;
+import com.app.book_management.utils.InMemoryCatalogProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service class for the in-memory book catalog, active only when enabled in InMemoryCatalogProperties.
+ * All books are loaded into a CatalogSnapshot once the application is ready,
+ * and until then read endpoints are answered from the database.
+ * Reads take the current snapshot without locking.
+ * Books changed by a transaction are queued after it commits, re-read from the primary database by a BookRefreshQueue
+ * and applied to a new snapshot, which replaces the current one.
+ * Until then reads still return their previous state, possibly cached in books cache or tagged with versions
+ * bumped when the change committed, so refreshed books are evicted from books cache and their versions are bumped
+ * once more after the snapshot is replaced.
+ * Loading and refreshes are serialized, so the latest refresh of a book always applies its latest committed state.
+ * If changed books can not be re-read, the catalog is dropped, so stale books are never served,
+ * and it is reloaded with the next retry of the refresh.
+ * Changes made by other application instances are not seen, so the catalog is meant for a single instance.
+ */
+@Service
+@Slf4j
+public class InMemoryCatalog {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService catalogVersionService;
+    private final Cache booksCache;
+    private final InMemoryCatalogProperties properties;
+    private final Lock refreshLock = new ReentrantLock();
+    private final BookRefreshQueue refreshQueue = new BookRefreshQueue("in-memory-catalog-refresher", this::refresh);
+
+    private volatile CatalogSnapshot snapshot;
+    private boolean reloadNeeded;
+
+    public InMemoryCatalog(final BookRepository bookRepository, final PlatformTransactionManager transactionManager,
+                           final CatalogVersionService catalogVersionService, final CacheManager cacheManager,
+                           final InMemoryCatalogProperties properties) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.catalogVersionService = catalogVersionService;
+        this.booksCache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the current snapshot of the catalog.
+     *
+     * @return snapshot of all books, or empty if the catalog is disabled or not loaded.
+     */
+    public Optional<CatalogSnapshot> snapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Loads all books into a new snapshot.
+     * Books are read within a read-write transaction, so they are read from the primary database.
+     * If books can not be loaded, reads keep being answered from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            loadSnapshot();
+        } catch (RuntimeException e) {
+            log.error("Can not load in-memory catalog, books are read from the database", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Queues provided books for a refresh in the catalog,
+     * after the current transaction commits or immediately if there is no transaction.
+     * Books which no longer exist are removed from the catalog.
+     *
+     * @param bookIds unique constraints of added, changed or deleted Book Entities.
+     */
+    public void booksChanged(final Collection<Long> bookIds) {
+        if (!properties.isEnabled() || bookIds.isEmpty()) {
+            return;
+        }
+        final List<Long> changedIds = List.copyOf(bookIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQueue.submit(changedIds);
+                }
+            });
+        } else {
+            refreshQueue.submit(changedIds);
+        }
+    }
+
+    /**
+     * Waits until all queued books are refreshed.
+     *
+     * @param timeout the maximum time to wait.
+     * @return true if all queued books were refreshed, false if the timeout elapsed.
+     */
+    boolean awaitRefreshed(final Duration timeout) throws InterruptedException {
+        return refreshQueue.awaitIdle(timeout);
+    }
+
+    /**
+     * Stops refreshing queued books when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        refreshQueue.stop();
+    }
+
+    /**
+     * Re-reads provided books from the primary database and replaces the snapshot with a copy holding their current state,
+     * or reloads all books if the catalog was dropped by a failed refresh.
+     * Changes made before the catalog is loaded are skipped, as loading reads them anyway.
+     * Refreshed books are then evicted from books cache and their versions are bumped,
+     * so responses served from the previous snapshot are neither cached nor tagged as current.
+     *
+     * @return true if the catalog is up to date, false if the refresh failed and should be retried.
+     */
+    private boolean refresh(final List<Long> bookIds) {
+        refreshLock.lock();
+        try {
+            final CatalogSnapshot current = snapshot;
+            if (current != null) {
+                final List<CatalogBook> books = transactionTemplate.execute(status -> bookRepository.findCatalogBooks(bookIds));
+                snapshot = current.with(bookIds, books);
+            } else if (reloadNeeded) {
+                loadSnapshot();
+                reloadNeeded = false;
+            }
+            for (final Long bookId : bookIds) {
+                booksCache.evict(bookId);
+                catalogVersionService.bookChanged(bookId);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            snapshot = null;
+            reloadNeeded = true;
+            log.error("Can not refresh books where id in " + bookIds + ", in-memory catalog dropped until it is reloaded", e);
+            return false;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void loadSnapshot() {
+        final long start = System.nanoTime();
+        snapshot = transactionTemplate.execute(status -> {
+            try (Stream<CatalogBook> books = bookRepository.streamCatalogBooks()) {
+                return CatalogSnapshot.of(books.toList());
+            }
+        });
+        log.info("In-memory catalog of " + snapshot.size() + " books loaded in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+}
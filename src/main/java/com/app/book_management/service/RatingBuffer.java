@@ -0,0 +1,290 @@
+package com.app.book_management.service;
+
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.exception.ErrorCode;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.utils.CacheConfig;
+import com.app.book_management.utils.RatingBufferProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service class for write-behind buffering of book ratings, active only when enabled in RatingBufferProperties.
+ * Ratings are held in a bounded in-memory buffer and written by a background flusher
+ * every flush interval, or as soon as flush size ratings are buffered.
+ * Buffered ratings are coalesced per book, so each rated book is updated with a single aggregate update
+ * and a single batch of rating inserts, and all books of a flush are written in one transaction.
+ * Ratings are rejected when the buffer is full.
+ * A batch which can not be written after max write attempts is written book by book,
+ * and ratings of books which still fail are dropped and counted as "book.rating.buffer.dropped",
+ * so a single failing book does not block all later ratings, neither while running nor while draining on stop.
+ * Buffer is stopped after the web server, so ratings accepted by requests still in progress on graceful shutdown
+ * are written before the application stops.
+ */
+@Service
+@Slf4j
+public class RatingBuffer implements SmartLifecycle {
+
+    private static final BufferedRating STOP = new BufferedRating(0L, 0);
+
+    /**
+     * Counter name of buffered ratings which could not be written.
+     */
+    public static final String DROPPED_RATINGS_COUNTER = "book.rating.buffer.dropped";
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService catalogVersionService;
+    private final InMemoryCatalog inMemoryCatalog;
+    private final BookLeaderboardService bookLeaderboardService;
+    private final RatingBufferProperties properties;
+    private final Cache booksCache;
+    private final Counter droppedRatings;
+    private final BlockingQueue<BufferedRating> buffer;
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public RatingBuffer(final BookRepository bookRepository, final TransactionTemplate transactionTemplate,
+                        final CatalogVersionService catalogVersionService, final InMemoryCatalog inMemoryCatalog,
+                        final BookLeaderboardService bookLeaderboardService, final CacheManager cacheManager,
+                        final MeterRegistry meterRegistry, final RatingBufferProperties properties) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogVersionService = catalogVersionService;
+        this.inMemoryCatalog = inMemoryCatalog;
+        this.bookLeaderboardService = bookLeaderboardService;
+        this.properties = properties;
+        this.booksCache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        this.droppedRatings = meterRegistry.counter(DROPPED_RATINGS_COUNTER);
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+    }
+
+    /**
+     * Checks whether ratings should be submitted to this buffer instead of written within the request.
+     *
+     * @return true if write-behind buffering of ratings is enabled.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Adds a validated rating of an existing book to the buffer.
+     *
+     * @param bookId unique constraint of Book Entity.
+     * @param rating a rating to write.
+     * @throws ApplicationException if the buffer is full or not running.
+     */
+    public void submit(final Long bookId, final Integer rating) throws ApplicationException {
+        runningLock.readLock().lock();
+        try {
+            if (!running || !buffer.offer(new BufferedRating(bookId, rating))) {
+                throw new ApplicationException("Too many ratings, rating of book where id = " + bookId
+                        + " can not be accepted right now", ErrorCode.RATING_BUFFER_FULL_EXCEPTION);
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushUntilStopped, "rating-buffer-flusher");
+        flusher.start();
+        log.info("Rating buffer started with capacity " + properties.getCapacity());
+    }
+
+    /**
+     * Stops accepting ratings and waits until the flusher writes all buffered ratings.
+     */
+    @Override
+    public void stop() {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        buffer.offer(STOP);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Rating buffer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void flushUntilStopped() {
+        final List<BufferedRating> batch = new ArrayList<>(properties.getFlushSize());
+        int failedAttempts = 0;
+        while (running || !buffer.isEmpty() || !batch.isEmpty()) {
+            if (batch.isEmpty()) {
+                collect(batch);
+            }
+            if (batch.isEmpty() || write(batch)) {
+                batch.clear();
+                failedAttempts = 0;
+            } else if (++failedAttempts < properties.getMaxWriteAttempts()) {
+                pause();
+            } else {
+                writeEachBook(batch);
+                batch.clear();
+                failedAttempts = 0;
+            }
+        }
+    }
+
+    /**
+     * Waits for ratings until the flush interval elapses or the batch is full,
+     * or takes what is left in the buffer once stopped.
+     */
+    private void collect(final List<BufferedRating> batch) {
+        final long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (batch.size() < properties.getFlushSize()) {
+            if (!running) {
+                buffer.drainTo(batch, properties.getFlushSize() - batch.size());
+                break;
+            }
+            final BufferedRating rating;
+            try {
+                rating = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (rating == null) {
+                break;
+            }
+            batch.add(rating);
+            buffer.drainTo(batch, properties.getFlushSize() - batch.size());
+        }
+        batch.removeIf(rating -> rating == STOP);
+    }
+
+    /**
+     * Writes ratings coalesced per book in a single transaction
+     * and
+     * refreshes all rated books in the in-memory catalog and genre leaderboards with a single query each once it commits.
+     *
+     * @return true if ratings were written, false if the transaction failed and should be retried.
+     */
+    private boolean write(final List<BufferedRating> batch) {
+        final Map<Long, RatingTotals> totalsByBook = coalesce(batch);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                totalsByBook.forEach(this::writeRatings);
+                inMemoryCatalog.booksChanged(totalsByBook.keySet());
+                bookLeaderboardService.booksChanged(totalsByBook.keySet());
+            });
+            log.debug(batch.size() + " buffered ratings of " + totalsByBook.size() + " books written");
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Can not write " + batch.size() + " buffered ratings, retrying", e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes ratings of each book in its own transaction, dropping ratings of books which can not be written.
+     */
+    private void writeEachBook(final List<BufferedRating> batch) {
+        coalesce(batch).forEach((bookId, totals) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    writeRatings(bookId, totals);
+                    inMemoryCatalog.booksChanged(List.of(bookId));
+                    bookLeaderboardService.booksChanged(List.of(bookId));
+                });
+            } catch (RuntimeException e) {
+                droppedRatings.increment(totals.ratings.size());
+                log.error("Can not write " + totals.ratings.size() + " buffered ratings of book where id = " + bookId
+                        + ", ratings dropped", e);
+            }
+        });
+    }
+
+    private static Map<Long, RatingTotals> coalesce(final List<BufferedRating> batch) {
+        final Map<Long, RatingTotals> totalsByBook = new LinkedHashMap<>();
+        for (final BufferedRating rating : batch) {
+            totalsByBook.computeIfAbsent(rating.bookId(), bookId -> new RatingTotals()).add(rating.rating());
+        }
+        return totalsByBook;
+    }
+
+    private void writeRatings(final Long bookId, final RatingTotals totals) {
+        final int updated = bookRepository.addRatings(bookId, (long) totals.ratings.size(), totals.sum,
+                totals.starCounts[0], totals.starCounts[1], totals.starCounts[2], totals.starCounts[3], totals.starCounts[4]);
+        if (updated == 0) {
+            log.warn("Book where id = " + bookId + " was deleted, " + totals.ratings.size() + " buffered ratings dropped");
+            return;
+        }
+        bookRepository.insertRatings(bookId, totals.ratings);
+        booksCache.evict(bookId);
+        catalogVersionService.bookChanged(bookId);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getFlushInterval().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Validated rating of a book waiting to be written.
+     */
+    private record BufferedRating(Long bookId, Integer rating) {
+    }
+
+    /**
+     * Ratings of a single book coalesced from the buffer.
+     */
+    private static final class RatingTotals {
+
+        private final List<Integer> ratings = new ArrayList<>();
+        private final long[] starCounts = new long[5];
+        private long sum;
+
+        private void add(final Integer rating) {
+            ratings.add(rating);
+            starCounts[rating - 1]++;
+            sum += rating;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.app.book_management.utils;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit of a single route, adapted to observed latency with additive increase and multiplicative decrease.
+ * While requests complete within the latency threshold and all permits are in use, the limit grows by one
+ * per limit of completed requests.
+ * When a request exceeds the latency threshold, the limit is multiplied by BACKOFF_RATIO,
+ * at most once per latency threshold, so a burst of slow requests started together counts as a single sign of overload.
+ * Requests over the limit wait in a bounded queue for at most the maximum wait, and are rejected when the queue is full.
+ */
+public final class AdaptiveBulkhead {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final BulkheadProperties.Route settings;
+    private final long latencyThresholdNanos;
+    private final Lock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long lastDecrease;
+
+    public AdaptiveBulkhead(final BulkheadProperties.Route settings) {
+        this.settings = settings;
+        this.latencyThresholdNanos = settings.getLatencyThreshold().toNanos();
+        this.limit = Math.min(Math.max(settings.getInitialLimit(), settings.getMinLimit()), settings.getMaxLimit());
+        this.lastDecrease = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    /**
+     * Takes a permit, waiting for at most the maximum wait if all permits are in use.
+     *
+     * @return true if the permit was taken and must be released, false if the request should be rejected.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= settings.getQueueSize()) {
+                return false;
+            }
+            waiting++;
+            try {
+                long remaining = settings.getMaxWait().toNanos();
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a permit and adapts the limit to the latency of the request it admitted.
+     *
+     * @param latencyNanos time from taking the permit until the request completed.
+     */
+    public void release(final long latencyNanos) {
+        lock.lock();
+        try {
+            final boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            final long now = System.nanoTime();
+            if (latencyNanos > latencyThresholdNanos) {
+                if (now - lastDecrease >= latencyThresholdNanos) {
+                    limit = Math.max(settings.getMinLimit(), limit * BACKOFF_RATIO);
+                    lastDecrease = now;
+                }
+            } else if (saturated) {
+                limit = Math.min(settings.getMaxLimit(), limit + 1 / limit);
+            }
+            permitReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return current number of concurrent requests admitted.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of admitted requests which have not completed yet.
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of requests waiting for a permit.
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.book_management.utils;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.exception.ErrorCode;
+import com.app.book_management.model.BookField;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for parsing the "fields" request parameter and restricting book responses to selected fields.
+ * Id is always selected, as it is required for keyset pagination cursors.
+ * Unselected fields are left null in BookResponseDto, so they are not serialized.
+ */
+public final class BookFieldSelector {
+
+    /**
+     * All fields, selected when no fields are requested.
+     */
+    public static final Set<BookField> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(BookField.class));
+
+    private static final Map<String, BookField> FIELDS_BY_PROPERTY = Arrays.stream(BookField.values())
+            .collect(Collectors.toMap(BookField::getProperty, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+
+    private BookFieldSelector() {
+    }
+
+    /**
+     * Parses comma separated field names, as they are named in responses.
+     *
+     * @param fields comma separated field names, may be null or blank to select all fields.
+     * @return selected fields, always including id.
+     * @throws ApplicationException if a field name is unknown.
+     */
+    public static Set<BookField> parse(final String fields) throws ApplicationException {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        final Set<BookField> selected = EnumSet.of(BookField.ID);
+        for (final String property : fields.split(",")) {
+            final BookField field = FIELDS_BY_PROPERTY.get(property.trim());
+            if (field == null) {
+                throw new ApplicationException("Given field " + property.trim() + " is unknown, fields must be within "
+                        + FIELDS_BY_PROPERTY.keySet(), ErrorCode.INVALID_FIELDS_EXCEPTION);
+            }
+            selected.add(field);
+        }
+        return selected.size() == ALL_FIELDS.size() ? ALL_FIELDS : selected;
+    }
+
+    /**
+     * Checks whether all fields are selected, so books can be retrieved with the full projection.
+     *
+     * @param fields selected fields.
+     * @return true if no field is left out.
+     */
+    public static boolean isAll(final Set<BookField> fields) {
+        return fields.size() == ALL_FIELDS.size();
+    }
+
+    /**
+     * Copies selected fields of given book to a new BookResponseDto.
+     * Given book is never modified, so it may be shared, e.g. held by a cache.
+     *
+     * @param book book with all fields.
+     * @param fields selected fields.
+     * @return given book if all fields are selected, otherwise a new BookResponseDto with only selected fields.
+     */
+    public static BookResponseDto select(final BookResponseDto book, final Set<BookField> fields) {
+        if (isAll(fields)) {
+            return book;
+        }
+        final BookResponseDto selected = BookResponseDto.builder().id(book.getId()).build();
+        for (final BookField field : fields) {
+            switch (field) {
+                case TITLE -> selected.setTitle(book.getTitle());
+                case DESCRIPTION -> selected.setDescription(book.getDescription());
+                case GENRE -> selected.setGenre(book.getGenre());
+                case AUTHOR -> selected.setAuthor(book.getAuthor());
+                case YEAR -> selected.setYear(book.getYear());
+                case PRICE -> selected.setPrice(book.getPrice());
+                case OVERALL_RATING -> selected.setOverallRating(book.getOverallRating());
+                default -> {
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Restricts each of given books to selected fields, as in select.
+     *
+     * @param books books with all fields.
+     * @param fields selected fields.
+     * @return given list if all fields are selected, otherwise a new list of new BookResponseDto.
+     */
+    public static List<BookResponseDto> select(final List<BookResponseDto> books, final Set<BookField> fields) {
+        if (isAll(fields)) {
+            return books;
+        }
+        return books.stream().map(book -> select(book, fields)).toList();
+    }
+}
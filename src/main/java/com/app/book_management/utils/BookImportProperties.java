@@ -0,0 +1,22 @@
+package com.app.book_management.utils;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of bulk book import.
+ */
+@Data
+@ConfigurationProperties(prefix = "book-management.import")
+public class BookImportProperties {
+
+    /**
+     * Number of books written in a single transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of record errors included in an import report, further errors are only counted.
+     */
+    private int maxReportedErrors = 1000;
+}
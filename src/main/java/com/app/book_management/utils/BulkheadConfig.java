@@ -0,0 +1,25 @@
+package com.app.book_management.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Bulkhead configuration class registering BulkheadInterceptor for all BookController routes,
+ * when enabled in BulkheadProperties.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final BulkheadProperties properties;
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/api/management/book/**");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.book_management.utils;
+
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interceptor limiting concurrent requests per route with an AdaptiveBulkhead of each BookController method,
+ * so a flood of expensive requests, e.g. keyword searches, can not take all request threads and database connections.
+ * Rejected requests are answered with 503 Service Unavailable and "Retry-After" header.
+ * Admitted and rejected requests are counted as "book.bulkhead.requests" tagged by route and outcome,
+ * and current limit, in-flight and queued requests of each route are exposed as "book.bulkhead.limit",
+ * "book.bulkhead.in.flight" and "book.bulkhead.queued".
+ * Permits of asynchronous requests, such as streamed exports, are held until the response is completed.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+    private final BulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) throws ApplicationException {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final String route = handlerMethod.getMethod().getName();
+        final AdaptiveBulkhead bulkhead = bulkheads.computeIfAbsent(route, this::createBulkhead);
+        if (!bulkhead.tryAcquire()) {
+            countRequest(route, "rejected");
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfter().toSeconds()));
+            throw new ApplicationException("Too many concurrent requests of " + route + ", retry later",
+                    ErrorCode.SERVICE_OVERLOADED_EXCEPTION);
+        }
+        countRequest(route, "admitted");
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(bulkhead, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        final Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Permit admitted) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            admitted.bulkhead().release(System.nanoTime() - admitted.admittedAt());
+        }
+    }
+
+    private AdaptiveBulkhead createBulkhead(final String route) {
+        final AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(properties.getRoute(route));
+        Gauge.builder("book.bulkhead.limit", bulkhead, AdaptiveBulkhead::getLimit)
+                .description("Concurrent requests admitted per route")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("book.bulkhead.in.flight", bulkhead, AdaptiveBulkhead::getInFlight)
+                .description("Admitted requests in progress per route")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("book.bulkhead.queued", bulkhead, AdaptiveBulkhead::getWaiting)
+                .description("Requests waiting for a permit per route")
+                .tag("route", route)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private void countRequest(final String route, final String outcome) {
+        Counter.builder("book.bulkhead.requests")
+                .description("Requests admitted or rejected by per-route concurrency limits")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Permit of an admitted request with the time it was admitted.
+     */
+    private record Permit(AdaptiveBulkhead bulkhead, long admittedAt) {
+    }
+}
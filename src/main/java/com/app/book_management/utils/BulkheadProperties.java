@@ -0,0 +1,83 @@
+package com.app.book_management.utils;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties of per-route concurrency limits of BookController endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "book-management.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Whether concurrent requests are limited per route.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time clients are asked to wait in "Retry-After" header of rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Limits of routes which are not listed in routes.
+     */
+    private Route defaults = new Route();
+
+    /**
+     * Limits by route, where a route is the name of the BookController method handling it.
+     */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    /**
+     * Returns limits of given route.
+     *
+     * @param route the name of the BookController method handling a request.
+     * @return limits of the route, or default limits if the route is not listed.
+     */
+    public Route getRoute(final String route) {
+        return routes.getOrDefault(route, defaults);
+    }
+
+    /**
+     * Concurrency limits of a single route.
+     */
+    @Data
+    public static class Route {
+
+        /**
+         * Number of concurrent requests admitted before any latency is observed.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Lowest number of concurrent requests the limit can be decreased to.
+         */
+        private int minLimit = 2;
+
+        /**
+         * Highest number of concurrent requests the limit can be increased to.
+         */
+        private int maxLimit = 200;
+
+        /**
+         * Maximum number of requests waiting for a permit, further requests are rejected immediately.
+         */
+        private int queueSize = 50;
+
+        /**
+         * Maximum time a request waits for a permit before it is rejected.
+         */
+        private Duration maxWait = Duration.ofMillis(200);
+
+        /**
+         * Latency above which a request is taken as a sign of overload and the limit is decreased.
+         */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.book_management.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration class for setting up in-process caches.
+ * Cache sizes and expiration are configured with Caffeine specifications,
+ * and statistics of hits, misses and evictions are published as "cache.*" metrics.
+ * Caches are transaction aware, so evictions are performed only after the transaction commits.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of ready-to-serve BookResponseDto by book id.
+     */
+    public static final String BOOKS_CACHE = "books";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${book-management.cache.books.spec}") final String booksCacheSpec) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOOKS_CACHE);
+        cacheManager.setCacheSpecification(booksCacheSpec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
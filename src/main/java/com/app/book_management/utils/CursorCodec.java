@@ -0,0 +1,163 @@
+package com.app.book_management.utils;
+
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.exception.ErrorCode;
+import com.app.book_management.model.BookSortField;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding opaque keyset pagination cursors.
+ * A cursor holds the id of the last book of the previous page,
+ * so the next page is retrieved with "id > cursor" predicate instead of an OFFSET scan.
+ * Cursors of results ordered by relevance additionally hold the rank of the last book,
+ * and cursors of results sorted by a book field hold the value of that field of the last book.
+ */
+public final class CursorCodec {
+
+    /**
+     * Id to start from when no cursor is provided, as book ids are always positive.
+     */
+    public static final long FIRST_PAGE_ID = 0L;
+
+    private static final char RANK_SEPARATOR = ':';
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes given book id to an opaque cursor.
+     *
+     * @param id the id of the last book in a page.
+     * @return URL safe cursor String.
+     */
+    public static String encode(final Long id) {
+        return encodeValue(String.valueOf(id));
+    }
+
+    /**
+     * Decodes given cursor to the book id it was created from.
+     *
+     * @param cursor the cursor obtained from the previous page, may be null for the first page.
+     * @return decoded book id or FIRST_PAGE_ID if cursor is null or blank.
+     * @throws ApplicationException if the cursor is malformed.
+     */
+    public static Long decode(final String cursor) throws ApplicationException {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE_ID;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final long id = Long.parseLong(decoded);
+            if (id < FIRST_PAGE_ID) {
+                throw new NumberFormatException("Negative id");
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException("Given cursor is invalid", ErrorCode.INVALID_CURSOR_EXCEPTION);
+        }
+    }
+
+    /**
+     * Encodes given rank and book id to an opaque cursor.
+     *
+     * @param rank the relevance rank of the last book in a page.
+     * @param id the id of the last book in a page.
+     * @return URL safe cursor String.
+     */
+    public static String encodeRanked(final Double rank, final Long id) {
+        return encodeValue(String.valueOf(rank) + RANK_SEPARATOR + id);
+    }
+
+    /**
+     * Decodes given cursor to the rank and book id it was created from.
+     *
+     * @param cursor the cursor obtained from the previous page, may be null for the first page.
+     * @return decoded rank and book id, where id is FIRST_PAGE_ID if cursor is null or blank.
+     * @throws ApplicationException if the cursor is malformed.
+     */
+    public static RankedCursor decodeRanked(final String cursor) throws ApplicationException {
+        if (cursor == null || cursor.isBlank()) {
+            return new RankedCursor(null, FIRST_PAGE_ID);
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = decoded.indexOf(RANK_SEPARATOR);
+            final double rank = Double.parseDouble(decoded.substring(0, separator));
+            final long id = Long.parseLong(decoded.substring(separator + 1));
+            if (id <= FIRST_PAGE_ID || !Double.isFinite(rank)) {
+                throw new NumberFormatException("Invalid rank or id");
+            }
+            return new RankedCursor(rank, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ApplicationException("Given cursor is invalid", ErrorCode.INVALID_CURSOR_EXCEPTION);
+        }
+    }
+
+    /**
+     * Encodes given sort field value and book id to an opaque cursor.
+     *
+     * @param sortKey the sort field value of the last book in a page.
+     * @param id the id of the last book in a page.
+     * @return URL safe cursor String.
+     */
+    public static String encodeSorted(final Object sortKey, final Long id) {
+        return encodeValue(String.valueOf(sortKey) + RANK_SEPARATOR + id);
+    }
+
+    /**
+     * Decodes given cursor to the sort field value and book id it was created from.
+     *
+     * @param cursor the cursor obtained from the previous page, may be null for the first page.
+     * @param sortField the field books are sorted by, used to parse the sort field value.
+     * @return decoded sort field value and book id, where id is FIRST_PAGE_ID if cursor is null or blank.
+     * @throws ApplicationException if the cursor is malformed or was not created for the given sort field.
+     */
+    public static SortedCursor decodeSorted(final String cursor, final BookSortField sortField) throws ApplicationException {
+        if (cursor == null || cursor.isBlank()) {
+            return new SortedCursor(null, FIRST_PAGE_ID);
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = decoded.lastIndexOf(RANK_SEPARATOR);
+            final Object sortKey = sortField.getKeyParser().apply(decoded.substring(0, separator));
+            final long id = Long.parseLong(decoded.substring(separator + 1));
+            if (id <= FIRST_PAGE_ID) {
+                throw new NumberFormatException("Invalid id");
+            }
+            return new SortedCursor(sortKey, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new ApplicationException("Given cursor is invalid", ErrorCode.INVALID_CURSOR_EXCEPTION);
+        }
+    }
+
+    private static String encodeValue(final String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decoded cursor of results ordered by relevance.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class RankedCursor {
+
+        private final Double rank;
+        private final Long id;
+    }
+
+    /**
+     * Decoded cursor of results sorted by a book field.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class SortedCursor {
+
+        private final Object sortKey;
+        private final Long id;
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.book_management.utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Data source configuration class for routing reads to a read replica.
+ * Active only when "book-management.datasource.replica.jdbc-url" is set, otherwise the single data source
+ * configured with "spring.datasource" is used for everything.
+ * The primary is configured with "spring.datasource" and the replica pool with "book-management.datasource.replica"
+ * HikariCP properties. Read-only transactions are routed to the replica by ReadWriteRoutingDataSource,
+ * except for clients which wrote within "read-after-write", tracked by ReadAfterWriteFilter,
+ * and schema migrations always run on the primary.
+ * Replica pool starts even if the replica is down and waits for a connection shortly by default,
+ * so reads fall back to the primary quickly, and after a failure reads skip the replica for "replica-retry".
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "book-management.datasource.replica", name = "jdbc-url")
+public class DataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("book-management.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(Duration.ofSeconds(1).toMillis());
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(final HikariDataSource primaryDataSource, final HikariDataSource replicaDataSource,
+                                 @Value("${book-management.datasource.replica-retry:10s}") final Duration replicaRetry) {
+        final ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaRetry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadAfterWriteFilter readAfterWriteFilter(
+            @Value("${book-management.datasource.read-after-write:1s}") final Duration readAfterWrite) {
+        return new ReadAfterWriteFilter(readAfterWrite);
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.book_management.utils;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the in-memory book catalog.
+ */
+@Data
+@ConfigurationProperties(prefix = "book-management.catalog.in-memory")
+public class InMemoryCatalogProperties {
+
+    /**
+     * Whether all books are loaded into memory at startup and read endpoints are answered from memory.
+     */
+    private boolean enabled = false;
+}
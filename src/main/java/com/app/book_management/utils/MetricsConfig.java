@@ -0,0 +1,57 @@
+package com.app.book_management.utils;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics configuration class for Micrometer instrumentation exposed on "/actuator/prometheus".
+ * Controller routes are timed by Spring MVC as "http.server.requests",
+ * BookRepository queries by Spring Data as "spring.data.repository.invocations",
+ * and service methods annotated with Timed as "book.service".
+ * Hibernate statistics, HikariCP pool and cache metrics are registered by Spring Boot auto-configuration,
+ * and the number of SQL statements per request is recorded by QueryCountFilter
+ * from the "dataSource" bean wrapped in QueryCountingDataSource.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    /**
+     * Timer name of BookService methods.
+     */
+    public static final String SERVICE_TIMER = "book.service";
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final QueryCountFilter queryCountFilter;
+
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                return bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)
+                        ? new QueryCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(queryCountFilter);
+    }
+}
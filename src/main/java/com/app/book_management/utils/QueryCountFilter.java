@@ -0,0 +1,84 @@
+package com.app.book_management.utils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter recording number of SQL statements executed through QueryCountingDataSource while handling a request
+ * as "book.request.queries" distribution summary, tagged by HTTP method and route the same way as "http.server.requests".
+ * Statements of async requests, e.g. streamed exports, are counted on the async thread as well,
+ * where counting is started by this filter registered as a callable processing interceptor,
+ * and the total is recorded once the async result is dispatched.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter implements CallableProcessingInterceptor {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final String QUERY_COUNT_ATTRIBUTE = QueryCountFilter.class.getName() + ".queryCount";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        LongAdder queryCount = (LongAdder) request.getAttribute(QUERY_COUNT_ATTRIBUTE);
+        if (queryCount == null) {
+            queryCount = new LongAdder();
+            request.setAttribute(QUERY_COUNT_ATTRIBUTE, queryCount);
+        }
+        QueryCountingDataSource.startCounting(queryCount);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountingDataSource.stopCounting();
+            if (!request.isAsyncStarted()) {
+                record(request, queryCount.sum());
+            }
+        }
+    }
+
+    @Override
+    public <T> void preProcess(final NativeWebRequest request, final Callable<T> task) {
+        final Object queryCount = request.getAttribute(QUERY_COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (queryCount instanceof LongAdder count) {
+            QueryCountingDataSource.startCounting(count);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(final NativeWebRequest request, final Callable<T> task, final Object concurrentResult) {
+        QueryCountingDataSource.stopCounting();
+    }
+
+    private void record(final HttpServletRequest request, final long queries) {
+        final Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("book.request.queries")
+                .description("SQL statements executed per request, including JdbcTemplate and async statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? UNKNOWN_URI : uri.toString())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries);
+    }
+}
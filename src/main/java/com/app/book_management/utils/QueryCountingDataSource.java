@@ -0,0 +1,100 @@
+package com.app.book_management.utils;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Data source proxy counting SQL statements executed on the current thread through any of its connections,
+ * whether they were issued by Hibernate, JdbcTemplate or Hibernate doWork callbacks.
+ * Each execute call counts once, so a JDBC batch counts as a single statement.
+ * Counting is started and stopped by QueryCountFilter for each request, also on async request threads.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<LongAdder> QUERY_COUNT = new ThreadLocal<>();
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public QueryCountingDataSource(final DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Starts counting statements executed on the current thread into provided count.
+     *
+     * @param queryCount count of statements, shared by all threads handling the same request.
+     */
+    public static void startCounting(final LongAdder queryCount) {
+        QUERY_COUNT.set(queryCount);
+    }
+
+    /**
+     * Stops counting statements on the current thread.
+     */
+    public static void stopCounting() {
+        QUERY_COUNT.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static Connection countingConnection(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return invokeIdentityMethod(proxy, method, args);
+                    }
+                    final Object result = invoke(connection, method, args);
+                    return result instanceof Statement statement ? countingStatement(statement, method.getReturnType()) : result;
+                });
+    }
+
+    private static Object countingStatement(final Statement statement, final Class<?> statementType) {
+        return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{statementType}, (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return invokeIdentityMethod(proxy, method, args);
+                    }
+                    if (EXECUTE_METHODS.contains(method.getName())) {
+                        final LongAdder queryCount = QUERY_COUNT.get();
+                        if (queryCount != null) {
+                            queryCount.increment();
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isIdentityMethod(final Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1
+                || method.getName().equals("hashCode") && method.getParameterCount() == 0;
+    }
+
+    private static Object invokeIdentityMethod(final Object proxy, final Method method, final Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
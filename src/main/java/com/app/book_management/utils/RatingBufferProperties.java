@@ -0,0 +1,40 @@
+package com.app.book_management.utils;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of write-behind buffering of book ratings.
+ */
+@Data
+@ConfigurationProperties(prefix = "book-management.rating-buffer")
+public class RatingBufferProperties {
+
+    /**
+     * Whether ratings are buffered and written in batches in the background instead of within the rating request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of buffered ratings, further ratings are rejected until buffered ones are written.
+     */
+    private int capacity = 10000;
+
+    /**
+     * Maximum number of ratings written in a single transaction.
+     */
+    private int flushSize = 500;
+
+    /**
+     * Maximum time a rating waits in the buffer before it is written.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Number of attempts to write a batch in a single transaction before its books are written one by one,
+     * and ratings of books which still fail are dropped.
+     */
+    private int maxWriteAttempts = 5;
+}
@@ -0,0 +1,112 @@
+package com.app.book_management.utils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filter routing reads of a client to the primary for the read-after-write period after its last write,
+ * registered by DataSourceConfig when a read replica is configured.
+ * Time of the last write is kept by the client in "last-write" cookie, set once each read-write transaction
+ * of its request completes, so later requests of the same client read from the primary on any instance,
+ * while reads of other clients keep going to the replica.
+ */
+public class ReadAfterWriteFilter extends OncePerRequestFilter {
+
+    /**
+     * Name of the cookie holding epoch milliseconds of the last write of a client.
+     */
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    private final long readAfterWriteMillis;
+
+    /**
+     * Creates filter.
+     *
+     * @param readAfterWrite period after a write of a client during which its reads are still routed to the primary.
+     */
+    public ReadAfterWriteFilter(final Duration readAfterWrite) {
+        this.readAfterWriteMillis = readAfterWrite.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        ReadWriteRoutingDataSource.bindClientSession(new CookieClientSession(lastWrite(request), response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.unbindClientSession();
+        }
+    }
+
+    private static long lastWrite(final HttpServletRequest request) {
+        final Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Read-after-write state of a client kept in its cookie.
+     */
+    private final class CookieClientSession implements ReadWriteRoutingDataSource.ClientSession {
+
+        private final long lastWrite;
+        private final HttpServletResponse response;
+        private boolean wrote;
+
+        private CookieClientSession(final long lastWrite, final HttpServletResponse response) {
+            this.lastWrite = lastWrite;
+            this.response = response;
+        }
+
+        @Override
+        public boolean readsFromPrimary() {
+            return wrote || System.currentTimeMillis() - lastWrite < readAfterWriteMillis;
+        }
+
+        @Override
+        public void wrote() {
+            wrote = true;
+            if (readAfterWriteMillis <= 0) {
+                return;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(final int status) {
+                        setLastWriteCookie();
+                    }
+                });
+            } else {
+                setLastWriteCookie();
+            }
+        }
+
+        private void setLastWriteCookie() {
+            if (response.isCommitted()) {
+                return;
+            }
+            final Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, Duration.ofMillis(readAfterWriteMillis).toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+}
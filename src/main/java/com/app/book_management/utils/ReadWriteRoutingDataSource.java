@@ -0,0 +1,138 @@
+package com.app.book_management.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data source routing connections of read-only transactions to a replica and all other connections to the primary.
+ * Must be wrapped in LazyConnectionDataSourceProxy, so connections are obtained after the transaction is marked read-only.
+ * Connections outside of transactions are obtained from the primary.
+ * Connections are obtained from the primary when the replica is unavailable,
+ * and for clients which recently wrote, so they do not read data they just wrote from a lagging replica.
+ * Such a client is represented by a ClientSession bound to the thread handling its request by ReadAfterWriteFilter,
+ * and read-write transactions on threads without a client, e.g. background refreshes and flushes, mark no writes.
+ * Once the replica fails to provide a connection, reads go straight to the primary for a configured retry period,
+ * so they do not wait for the replica connection timeout, and then a single read probes the replica again.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Keys of target data sources.
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Read-after-write state of the client whose request is handled on the current thread.
+     */
+    public interface ClientSession {
+
+        /**
+         * Checks whether reads of the client should be routed to the primary.
+         *
+         * @return true if the client wrote recently.
+         */
+        boolean readsFromPrimary();
+
+        /**
+         * Marks that the client started a read-write transaction.
+         */
+        void wrote();
+    }
+
+    private static final ThreadLocal<ClientSession> CLIENT_SESSION = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final long replicaRetryNanos;
+    private final AtomicLong replicaRetryAt = new AtomicLong();
+    private volatile boolean replicaDown;
+
+    /**
+     * Creates routing data source.
+     *
+     * @param primary data source of the primary database, used for writes.
+     * @param replica data source of the replica database, used for reads.
+     * @param replicaRetry period after the replica failed to provide a connection during which reads are routed to the primary.
+     */
+    public ReadWriteRoutingDataSource(final DataSource primary, final DataSource replica, final Duration replicaRetry) {
+        this.primary = primary;
+        this.replicaRetryNanos = replicaRetry.toNanos();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Binds provided client to the current thread.
+     *
+     * @param clientSession read-after-write state of the client whose request is handled on the current thread.
+     */
+    public static void bindClientSession(final ClientSession clientSession) {
+        CLIENT_SESSION.set(clientSession);
+    }
+
+    /**
+     * Unbinds the client from the current thread.
+     */
+    public static void unbindClientSession() {
+        CLIENT_SESSION.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final ClientSession clientSession = CLIENT_SESSION.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (clientSession != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                clientSession.wrote();
+            }
+            return Route.PRIMARY;
+        }
+        return clientSession != null && clientSession.readsFromPrimary() ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final DataSource target = determineTargetDataSource();
+        if (target == primary || !tryReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            final Connection connection = target.getConnection();
+            if (replicaDown) {
+                replicaDown = false;
+                log.info("Replica is available again, reading from replica");
+            }
+            return connection;
+        } catch (SQLException e) {
+            replicaRetryAt.set(System.nanoTime() + replicaRetryNanos);
+            replicaDown = true;
+            log.warn("Replica is unavailable, reading from primary for " + Duration.ofNanos(replicaRetryNanos)
+                    + ": " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Checks whether a read should try the replica.
+     * While the replica is down, only the first read after the retry period probes it,
+     * and the retry period is restarted, so concurrent reads keep going to the primary until the probe completes.
+     */
+    private boolean tryReplica() {
+        if (!replicaDown) {
+            return true;
+        }
+        final long retryAt = replicaRetryAt.get();
+        final long now = System.nanoTime();
+        return now - retryAt >= 0 && replicaRetryAt.compareAndSet(retryAt, now + replicaRetryNanos);
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.book_management.utils;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Response format configuration class registering binary formats besides JSON.
+ * Clients may request CBOR with "Accept: application/cbor" or Smile with "Accept: application/x-jackson-smile",
+ * which encode numbers, years and repeated field names more compactly and are cheaper to encode and decode than JSON text.
+ * JSON stays the default, and JSON responses are gzip compressed by the server when the client accepts it.
+ * Converters are built from the same Jackson2ObjectMapperBuilder as the JSON converter,
+ * so every format serializes the same modules and settings, and replace the converters Spring MVC registers by default.
+ * All formats of a resource share its ETag, so BookController responses, including 304 Not Modified,
+ * are sent with "Vary: Accept" and shared caches never answer a client with a format it did not ask for.
+ */
+@Configuration
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new VaryByAcceptInterceptor()).addPathPatterns("/api/management/book/**");
+    }
+
+    /**
+     * Adds "Vary: Accept" before the handler writes the response, so the header is sent with every status.
+     */
+    private static final class VaryByAcceptInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+            if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            return true;
+        }
+    }
+}
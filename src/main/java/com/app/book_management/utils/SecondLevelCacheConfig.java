@@ -0,0 +1,72 @@
+package com.app.book_management.utils;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache configuration class for setting up Hibernate second-level cache.
+ * Regions are Caffeine caches created through JCache from SecondLevelCacheProperties,
+ * and Hibernate fails to start if a region used by a mapping is not configured.
+ * Region of last update timestamps of tables, used to invalidate cached query results, is created unbounded
+ * unless configured, as its entries must not be evicted.
+ * Each session factory gets its own cache manager, as Hibernate closes it together with the session factory.
+ * Hit, miss and put counts of every region are published as "hibernate.second.level.cache.*" metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * Region of Book entities.
+     */
+    public static final String BOOK_REGION = "book";
+
+    /**
+     * Region of Book ratings collections.
+     */
+    public static final String BOOK_RATINGS_REGION = "book.ratings";
+
+    /**
+     * Region of cached results of books by genre query.
+     */
+    public static final String BOOKS_BY_GENRE_REGION = "books-by-genre";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final SecondLevelCacheProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(properties));
+    }
+
+    private CacheManager createCacheManager(final SecondLevelCacheProperties properties) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:book-management:second-level-cache:" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, toConfiguration(region)));
+        if (cacheManager.getCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME) == null) {
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        }
+        return cacheManager;
+    }
+
+    private CaffeineConfiguration<Object, Object> toConfiguration(final SecondLevelCacheProperties.Region region) {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (region.getMaximumSize() != null) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        }
+        if (region.getExpireAfterWrite() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.book_management.utils;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties of Hibernate second-level cache regions.
+ * Every region used by entities, collections and cacheable queries must be configured here.
+ */
+@Data
+@ConfigurationProperties(prefix = "book-management.cache.hibernate")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Cache regions by region name.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Size and expiration of a single cache region.
+     */
+    @Data
+    public static class Region {
+
+        /**
+         * Maximum number of entries in the region, unbounded if not set.
+         */
+        private Long maximumSize;
+
+        /**
+         * Period after which an entry expires since it was written, never expires if not set.
+         */
+        private Duration expireAfterWrite;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 
 /**
  * A component to create and save application test data.
+ * Data is saved only into an empty database, as the schema and its data are kept between restarts.
  */
 @Component
 @RequiredArgsConstructor
@@ -23,6 +24,10 @@ public class TestDataLoader implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
+        if (bookRepository.count() > 0) {
+            log.info("Books already exist, test data is not loaded");
+            return;
+        }
         Book book1 = Book.builder()
                 .title("Harry Potter and the Chamber of Secrets")
                 .description("The Chamber of Secrets was home to an ancient Basilisk.")
@@ -103,6 +108,8 @@ public class TestDataLoader implements CommandLineRunner {
                 .ratings(List.of(3, 4, 1, 1, 1, 2, 5))
                 .build();
 
-        bookRepository.saveAll(List.of(book1, book2, book3, book4, book5, book6, book7, book8));
+        final List<Book> books = List.of(book1, book2, book3, book4, book5, book6, book7, book8);
+        books.forEach(Book::recalculateRatingAggregates);
+        bookRepository.saveAll(books);
     }
 }
@@ -0,0 +1,35 @@
+package com.app.book_management.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Threading configuration class reporting the mode requests are handled in.
+ * Virtual threads are enabled with "virtual-threads" profile, which sets "spring.threads.virtual.enabled"
+ * and sizes the connection pool for it.
+ * Spring Boot then runs Tomcat request handling, async request processing and task execution on virtual threads,
+ * but only when running on Java 21 or newer, otherwise platform threads are kept.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode(final ApplicationReadyEvent event) {
+        final Environment environment = event.getApplicationContext().getEnvironment();
+        final boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests are handled on virtual threads");
+        } else if (requested) {
+            log.warn("Virtual threads are enabled but not supported by Java " + Runtime.version().feature()
+                    + ", requests are handled on platform threads. Run the application on Java 21 or newer");
+        } else {
+            log.info("Requests are handled on platform threads");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.app.book_management.validator;
 
 import com.app.book_management.dto.BookRequestDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
 import com.app.book_management.exception.ApplicationException;
 import com.app.book_management.exception.ErrorCode;
 import com.app.book_management.model.Book;
@@ -17,6 +18,16 @@ import java.util.List;
 @Slf4j
 public class BookValidator {
 
+    /**
+     * Maximum number of books which can be requested in a single page.
+     */
+    public static final int MAX_PAGE_LIMIT = 500;
+
+    /**
+     * Maximum number of best rated books which can be requested per genre.
+     */
+    public static final int MAX_TOP_BOOKS = 100;
+
     /**
      * Ensures that BookRequestDto is not null.
      * @param dto the data transfer object obtained from the controller method.
@@ -28,6 +39,26 @@ public class BookValidator {
         }
     }
 
+    /**
+     * Ensures that BookRequestDto of a new book is not null and all its fields fit the requirements.
+     * @param dto the data transfer object of a new book.
+     * @throws ApplicationException if BookRequestDto is null, title, description or author is blank,
+     *         genre is null, year is null or in the future, or price is null or not greater than 0.
+     */
+    public void validateNewBook(final BookRequestDto dto) throws ApplicationException {
+        validateBookRequestDto(dto);
+        if (isBlank(dto.getTitle()) || isBlank(dto.getDescription()) || isBlank(dto.getAuthor())) {
+            throw new ApplicationException("Book title, description and author can not be blank", ErrorCode.INVALID_BOOK_EXCEPTION);
+        }
+        if (dto.getGenre() == null) {
+            throw new ApplicationException("Book genre is null", ErrorCode.INVALID_BOOK_EXCEPTION);
+        }
+        validateBookYear(dto.getYear());
+        if (dto.getPrice() == null || dto.getPrice() <= 0) {
+            throw new ApplicationException("Book price must be greater than 0", ErrorCode.INVALID_PRICE_EXCEPTION);
+        }
+    }
+
     /**
      * Ensures that provided rating to rate a book or filter by ratings is not null and fits the requirements.
      * @param rating an Integer to rate a book or filter books by.
@@ -98,4 +129,61 @@ public class BookValidator {
             throw new ApplicationException("Book year can not be in the future", ErrorCode.INVALID_BOOK_YEAR_EXCEPTION);
         }
     }
+
+    /**
+     * Ensures that provided combined search criteria are not null and all provided criteria fit the requirements.
+     * @param criteria the search criteria obtained from the controller method.
+     * @throws ApplicationException if criteria are null, a price is not greater than 0,
+     *         minimal price or year is greater than the maximum one, or minimal rating is not between 1 and 5.
+     */
+    public void validateSearchCriteria(final BookSearchCriteriaDto criteria) throws ApplicationException {
+        if (criteria == null) {
+            throw new ApplicationException("Search criteria are null", ErrorCode.INVALID_SEARCH_CRITERIA_EXCEPTION);
+        }
+        if ((criteria.getMinPrice() != null && criteria.getMinPrice() <= 0)
+                || (criteria.getMaxPrice() != null && criteria.getMaxPrice() <= 0)) {
+            throw new ApplicationException("Prices must be greater than 0", ErrorCode.INVALID_PRICE_EXCEPTION);
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null && criteria.getMinPrice() > criteria.getMaxPrice()) {
+            throw new ApplicationException("Minimal price cannot be greater than maximum price", ErrorCode.INVALID_PRICE_EXCEPTION);
+        }
+        if (criteria.getMinYear() != null && criteria.getMaxYear() != null && criteria.getMinYear().isAfter(criteria.getMaxYear())) {
+            throw new ApplicationException("Minimal year cannot be greater than maximum year", ErrorCode.INVALID_BOOK_YEAR_EXCEPTION);
+        }
+        if (criteria.getMinRating() != null) {
+            validateBookRating(criteria.getMinRating());
+        }
+        if (criteria.getSort() == null || criteria.getDirection() == null) {
+            throw new ApplicationException("Sort field and direction can not be null", ErrorCode.INVALID_SEARCH_CRITERIA_EXCEPTION);
+        }
+    }
+
+    private boolean isBlank(final String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Ensures that provided page limit is not null and fits the requirements.
+     * @param limit the maximum number of books in a page.
+     * @throws ApplicationException if the limit is null, less than 1 or greater than MAX_PAGE_LIMIT.
+     */
+    public void validatePageLimit(final Integer limit) throws ApplicationException {
+        if (limit == null) {
+            throw new ApplicationException("Page limit is null", ErrorCode.INVALID_PAGE_LIMIT_EXCEPTION);
+        }
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new ApplicationException("Page limit must be between 1 and " + MAX_PAGE_LIMIT, ErrorCode.INVALID_PAGE_LIMIT_EXCEPTION);
+        }
+    }
+
+    /**
+     * Ensures that provided number of best rated books is not null and fits the requirements.
+     * @param count the maximum number of best rated books.
+     * @throws ApplicationException if the count is null, less than 1 or greater than MAX_TOP_BOOKS.
+     */
+    public void validateTopBooksCount(final Integer count) throws ApplicationException {
+        if (count == null || count < 1 || count > MAX_TOP_BOOKS) {
+            throw new ApplicationException("Number of top books must be between 1 and " + MAX_TOP_BOOKS, ErrorCode.INVALID_PAGE_LIMIT_EXCEPTION);
+        }
+    }
 }
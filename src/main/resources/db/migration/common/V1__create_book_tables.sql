@@ -0,0 +1,27 @@
+-- Books and their ratings. Ids are allocated by Hibernate from a pooled sequence in blocks of 50.
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE book (
+    id                     BIGINT       NOT NULL,
+    title                  VARCHAR(255) NOT NULL,
+    description            VARCHAR(255) NOT NULL,
+    genre                  VARCHAR(255) NOT NULL,
+    author                 VARCHAR(255) NOT NULL,
+    year                   INTEGER      NOT NULL,
+    price                  FLOAT(53)    NOT NULL,
+    rating_count           BIGINT       NOT NULL DEFAULT 0,
+    rating_sum             BIGINT       NOT NULL DEFAULT 0,
+    one_star_ratings       BIGINT       NOT NULL DEFAULT 0,
+    two_star_ratings       BIGINT       NOT NULL DEFAULT 0,
+    three_star_ratings     BIGINT       NOT NULL DEFAULT 0,
+    four_star_ratings      BIGINT       NOT NULL DEFAULT 0,
+    five_star_ratings      BIGINT       NOT NULL DEFAULT 0,
+    rounded_average_rating INTEGER,
+    CONSTRAINT pk_book PRIMARY KEY (id)
+);
+
+CREATE TABLE book_ratings (
+    book_id BIGINT NOT NULL,
+    rating  INTEGER,
+    CONSTRAINT fk_book_ratings_book FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE
+);
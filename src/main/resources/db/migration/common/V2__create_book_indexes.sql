@@ -0,0 +1,12 @@
+-- Indexes of list filters and combined search. Every index ends with id,
+-- so keyset paginated queries ordered by id are served from the index without sorting.
+CREATE INDEX idx_book_genre ON book (genre, id);
+CREATE INDEX idx_book_year ON book (year, id);
+CREATE INDEX idx_book_price ON book (price, id);
+CREATE INDEX idx_book_title ON book (title, id);
+CREATE INDEX idx_book_genre_price ON book (genre, price, id);
+CREATE INDEX idx_book_genre_year ON book (genre, year, id);
+CREATE INDEX idx_book_rounded_average_rating ON book (rounded_average_rating, id);
+
+-- Ratings are loaded, appended and deleted by book.
+CREATE INDEX idx_book_ratings_book_id ON book_ratings (book_id);
@@ -0,0 +1,12 @@
+-- Case insensitive author and title filters compare LOWER(column), which plain column indexes can not serve.
+CREATE INDEX idx_book_lower_author ON book (lower(author), id);
+CREATE INDEX idx_book_lower_title ON book (lower(title), id);
+
+-- Full-text search vector of book title and description, kept up to date by PostgreSQL on every insert and update.
+ALTER TABLE book ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_book_search_vector ON book USING GIN (search_vector);
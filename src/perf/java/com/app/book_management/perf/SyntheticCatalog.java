@@ -0,0 +1,75 @@
+package com.app.book_management.perf;
+
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a deterministic synthetic catalog of books for benchmarks and load tests.
+ * Book at position i is written by "Author (i % AUTHORS)", titled "Book i",
+ * published in year (FIRST_YEAR + i % YEARS) and priced (MIN_PRICE + i % PRICES),
+ * so benchmarks and load routes can request values known to exist in catalogs of every size.
+ */
+public final class SyntheticCatalog {
+
+    public static final long DEFAULT_SEED = 42;
+    public static final int AUTHORS = 100;
+    public static final int FIRST_YEAR = 1900;
+    public static final int YEARS = 120;
+    public static final double MIN_PRICE = 5.0;
+    public static final int PRICES = 50;
+    public static final String KEYWORD = "dragon";
+    public static final String[] SUBJECTS = {KEYWORD, "detective", "empire", "voyage", "garden", "machine"};
+
+    private static final Genre[] GENRES = Genre.values();
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Generates books with rating aggregates calculated from ratings drawn from DEFAULT_SEED.
+     *
+     * @param catalogSize number of books to generate.
+     * @param ratingsPerBook number of ratings of each book.
+     * @return list of generated books without ids.
+     */
+    public static List<Book> generateBooks(final int catalogSize, final int ratingsPerBook) {
+        return generateBooks(catalogSize, ratingsPerBook, DEFAULT_SEED);
+    }
+
+    /**
+     * Generates books with rating aggregates calculated from ratings drawn from provided seed.
+     *
+     * @param catalogSize number of books to generate.
+     * @param ratingsPerBook number of ratings of each book.
+     * @param seed seed of generated ratings.
+     * @return list of generated books without ids.
+     */
+    public static List<Book> generateBooks(final int catalogSize, final int ratingsPerBook, final long seed) {
+        final Random random = new Random(seed);
+        final List<Book> books = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            final List<Integer> ratings = new ArrayList<>(ratingsPerBook);
+            for (int r = 0; r < ratingsPerBook; r++) {
+                ratings.add(1 + random.nextInt(5));
+            }
+            final Book book = Book.builder()
+                    .title("Book " + i)
+                    .description("A story about a " + SUBJECTS[i % SUBJECTS.length] + " and a "
+                            + SUBJECTS[(i / SUBJECTS.length) % SUBJECTS.length] + ".")
+                    .author("Author " + (i % AUTHORS))
+                    .genre(GENRES[i % GENRES.length])
+                    .year(Year.of(FIRST_YEAR + i % YEARS))
+                    .price(MIN_PRICE + i % PRICES)
+                    .ratings(ratings)
+                    .build();
+            book.recalculateRatingAggregates();
+            books.add(book);
+        }
+        return books;
+    }
+}
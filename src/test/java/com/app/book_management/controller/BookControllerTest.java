@@ -0,0 +1,159 @@
+package com.app.book_management.controller;
+
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.utils.ResponseFormatConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerTest {
+
+    private static final String BOOKS_URL = "/api/management/book/";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Test
+    void getAllBooks_withMatchingETag_returnsNotModifiedWithoutQuery() throws Exception {
+        final String eTag = mockMvc.perform(get(BOOKS_URL))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        clearInvocations(bookRepository);
+
+        mockMvc.perform(get(BOOKS_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        verify(bookRepository, never()).findBooksAfter(any(), any());
+    }
+
+    @Test
+    void getAllBooks_negotiatesBinaryFormats() throws Exception {
+        final String json = mockMvc.perform(get(BOOKS_URL).param("limit", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        final byte[] cbor = mockMvc.perform(get(BOOKS_URL).param("limit", "5").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        final byte[] smile = mockMvc.perform(get(BOOKS_URL).param("limit", "5").accept(ResponseFormatConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ResponseFormatConfig.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final JsonNode expected = new ObjectMapper().readTree(json);
+        assertEquals(expected, new CBORMapper().readTree(cbor));
+        assertEquals(expected, new SmileMapper().readTree(smile));
+        assertTrue(cbor.length < json.length() && smile.length < json.length());
+    }
+
+    @Test
+    void suggest_answersFromMemory() throws Exception {
+        clearInvocations(bookRepository);
+
+        mockMvc.perform(get(BOOKS_URL + "suggest").param("prefix", "harry potter and the chamber").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].text").value("Harry Potter and the Chamber of Secrets"))
+                .andExpect(jsonPath("$[0].field").value("TITLE"));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void getTopBooks_answersFromMemory() throws Exception {
+        clearInvocations(bookRepository);
+
+        mockMvc.perform(get(BOOKS_URL + "top").param("genre", "FANTASY").param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].genre").value("FANTASY"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+        verifyNoInteractions(bookRepository);
+
+        mockMvc.perform(get(BOOKS_URL + "top").param("genre", "FANTASY").param("n", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllBooks_withFields_returnsOnlySelectedFields() throws Exception {
+        mockMvc.perform(get(BOOKS_URL).param("limit", "2").param("fields", "title,author,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(2))
+                .andExpect(jsonPath("$.books[0].id").exists())
+                .andExpect(jsonPath("$.books[0].title").exists())
+                .andExpect(jsonPath("$.books[0].price").exists())
+                .andExpect(jsonPath("$.books[0].description").doesNotExist())
+                .andExpect(jsonPath("$.books[0].overallRating").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").exists());
+
+        mockMvc.perform(get(BOOKS_URL).param("fields", "title,isbn"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getById_afterRating_returnsNewETag() throws Exception {
+        final Long id = bookRepository.findAll().get(0).getId();
+        final String bookETag = mockMvc.perform(get(BOOKS_URL + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        final String catalogETag = mockMvc.perform(get(BOOKS_URL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post(BOOKS_URL + "rate/" + id).contentType(MediaType.APPLICATION_JSON).content("4"))
+                .andExpect(status().isOk());
+
+        final String newBookETag = mockMvc.perform(get(BOOKS_URL + id).header(HttpHeaders.IF_NONE_MATCH, bookETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(bookETag, newBookETag);
+        mockMvc.perform(get(BOOKS_URL).header(HttpHeaders.IF_NONE_MATCH, catalogETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchBooks_bindsCriteriaAndPaginates() throws Exception {
+        final String firstPage = mockMvc.perform(get(BOOKS_URL + "search")
+                        .param("genre", "FANTASY").param("minYear", "1950").param("maxPrice", "30")
+                        .param("sort", "PRICE").param("direction", "DESC").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(1))
+                .andExpect(jsonPath("$.books[0].genre").value("FANTASY"))
+                .andReturn().getResponse().getContentAsString();
+        final String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+        assertNotNull(nextCursor);
+
+        mockMvc.perform(get(BOOKS_URL + "search")
+                        .param("genre", "FANTASY").param("minYear", "1950").param("maxPrice", "30")
+                        .param("sort", "PRICE").param("direction", "DESC").param("limit", "1")
+                        .param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(1));
+    }
+}
@@ -0,0 +1,225 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.BookField;
+import com.app.book_management.model.BookSortField;
+import com.app.book_management.model.Genre;
+import com.app.book_management.utils.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.time.Year;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void saveTestBooks() {
+        bookRepository.deleteAll();
+        bookRepository.saveAllAndFlush(loadTestBooks());
+    }
+
+    @Test
+    void searchByKeywords_ranksTitleMatchesFirst() {
+        final List<RankedBook> found = bookRepository.searchByKeywords("ring", null, 0L, 10);
+
+        assertEquals(2, found.size());
+        assertEquals("The Lord of the Rings: The Fellowship of the Ring", found.get(0).getBook().getTitle());
+        assertTrue(found.get(0).getRank() > found.get(1).getRank());
+    }
+
+    @Test
+    void searchByKeywords_requiresAllWords() {
+        final List<RankedBook> found = bookRepository.searchByKeywords("Epic  FANTASY", null, 0L, 10);
+
+        assertEquals(1, found.size());
+        assertEquals("J. R. R. Tolkien", found.get(0).getBook().getAuthor());
+    }
+
+    @Test
+    void searchByKeywords_matchesWildcardsLiterally() {
+        assertTrue(bookRepository.searchByKeywords("100%", null, 0L, 10).isEmpty());
+        assertEquals(1, bookRepository.searchByKeywords("50%", null, 0L, 10).size());
+    }
+
+    @Test
+    void searchByKeywords_continuesAfterCursor() {
+        final List<RankedBook> firstPage = bookRepository.searchByKeywords("ring", null, 0L, 1);
+        final RankedBook last = firstPage.get(0);
+        final List<RankedBook> nextPage = bookRepository.searchByKeywords("ring", last.getRank(), last.getBook().getId(), 10);
+
+        assertEquals(1, nextPage.size());
+        assertNotEquals(last.getBook().getId(), nextPage.get(0).getBook().getId());
+    }
+
+    @Test
+    void addRating_updatesAggregatesAndAppendsRating() {
+        final Long id = bookRepository.findAll().get(0).getId();
+
+        assertEquals(1, bookRepository.addRating(id, 5));
+        bookRepository.insertRating(id, 5);
+        assertEquals(1, bookRepository.addRating(id, 2));
+        bookRepository.insertRating(id, 2);
+        entityManager.clear();
+
+        final Book book = bookRepository.findById(id).orElseThrow();
+        assertEquals(2L, book.getRatingCount());
+        assertEquals(7L, book.getRatingSum());
+        assertEquals(1L, book.getFiveStarRatings());
+        assertEquals(1L, book.getTwoStarRatings());
+        assertEquals(4, book.getRoundedAverageRating());
+        assertEquals(List.of(5, 2), book.getRatings());
+    }
+
+    @Test
+    void addRatings_updatesAggregatesAndAppendsRatings() {
+        final Long id = bookRepository.findAll().get(0).getId();
+
+        assertEquals(1, bookRepository.addRatings(id, 3L, 11L, 0L, 1L, 0L, 1L, 1L));
+        bookRepository.insertRatings(id, List.of(5, 2, 4));
+        entityManager.clear();
+
+        final Book book = bookRepository.findById(id).orElseThrow();
+        assertEquals(3L, book.getRatingCount());
+        assertEquals(11L, book.getRatingSum());
+        assertEquals(1L, book.getTwoStarRatings());
+        assertEquals(4, book.getRoundedAverageRating());
+        assertEquals(List.of(5, 2, 4), book.getRatings());
+    }
+
+    @Test
+    void findCatalogBooks_projectsRatingAggregates() {
+        final Long id = bookRepository.findAll().get(0).getId();
+        bookRepository.addRatings(id, 2L, 7L, 0L, 1L, 0L, 0L, 1L);
+        entityManager.clear();
+
+        final List<CatalogBook> found = bookRepository.findCatalogBooks(List.of(id, -1L));
+        assertEquals(1, found.size());
+        assertEquals(3, found.get(0).getOverallRating());
+        assertEquals(4, found.get(0).getRoundedAverageRating());
+        assertEquals(found.get(0).getTitle(), found.get(0).toBookResponseDto().getTitle());
+    }
+
+    @Test
+    void addRating_whenBookNotFound() {
+        assertEquals(0, bookRepository.addRating(-1L, 5));
+    }
+
+    @Test
+    void searchBooks_combinesAllCriteria() {
+        final Book hobbit = bookRepository.findAll().stream()
+                .filter(book -> book.getTitle().equals("The Hobbit")).findFirst().orElseThrow();
+        bookRepository.addRating(hobbit.getId(), 5);
+        entityManager.clear();
+
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setGenre(Genre.FANTASY);
+        criteria.setAuthor("j. r. r. TOLKIEN");
+        criteria.setMinPrice(10.0);
+        criteria.setMaxPrice(30.0);
+        criteria.setMinRating(4);
+
+        final List<SortedBook> found = searchBooks(criteria, null, 0L, 10);
+        assertEquals(1, found.size());
+        assertEquals("The Hobbit", found.get(0).getBook().getTitle());
+        assertEquals(5, found.get(0).getBook().getOverallRating());
+    }
+
+    @Test
+    void searchBooks_withKeyword_requiresAllWords() {
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setKeyword("Magic  RING");
+        criteria.setMaxYear(Year.of(1950));
+
+        final List<SortedBook> found = searchBooks(criteria, null, 0L, 10);
+        assertEquals(1, found.size());
+        assertEquals("The Hobbit", found.get(0).getBook().getTitle());
+    }
+
+    @Test
+    void searchBooks_sortsAndContinuesAfterCursor() {
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setSort(BookSortField.PRICE);
+        criteria.setDirection(Sort.Direction.DESC);
+
+        final List<SortedBook> firstPage = searchBooks(criteria, null, 0L, 2);
+        assertEquals(List.of(25.99, 19.99), firstPage.stream().map(book -> book.getBook().getPrice()).toList());
+
+        final SortedBook last = firstPage.get(1);
+        final List<SortedBook> nextPage = searchBooks(criteria, last.getSortKey(), last.getBook().getId(), 2);
+        assertEquals(1, nextPage.size());
+        assertEquals("1984", nextPage.get(0).getBook().getTitle());
+    }
+
+    @Test
+    void findBooks_selectsOnlyFieldColumns() {
+        final List<BookResponseDto> found = bookRepository.findBooks(BookSpecifications.hasAuthor("j. r. r. tolkien"),
+                EnumSet.of(BookField.TITLE, BookField.OVERALL_RATING), 0L, 10);
+
+        assertEquals(List.of("The Lord of the Rings: The Fellowship of the Ring", "The Hobbit"),
+                found.stream().map(BookResponseDto::getTitle).toList());
+        assertNotNull(found.get(0).getId());
+        assertEquals(1, found.get(0).getOverallRating());
+        assertNull(found.get(0).getDescription());
+        assertNull(found.get(0).getPrice());
+
+        final List<BookResponseDto> nextPage = bookRepository.findBooks(BookSpecifications.hasAuthor("J. R. R. Tolkien"),
+                EnumSet.of(BookField.ID), found.get(0).getId(), 10);
+        assertEquals(List.of(found.get(1).getId()), nextPage.stream().map(BookResponseDto::getId).toList());
+    }
+
+    private List<SortedBook> searchBooks(final BookSearchCriteriaDto criteria, final Object afterKey, final Long afterId, final int limit) {
+        return bookRepository.searchBooks(BookSpecifications.matching(criteria), criteria.getSort(), criteria.getDirection(),
+                afterKey, afterId, limit);
+    }
+
+    List<Book> loadTestBooks() {
+        Book book1 = Book.builder()
+                .title("The Lord of the Rings: The Fellowship of the Ring")
+                .description("An epic fantasy novel that tells the story of the first part of the journey of Frodo Baggins and his companions to destroy the One Ring.")
+                .author("J. R. R. Tolkien")
+                .genre(Genre.FANTASY)
+                .year(Year.of(1954))
+                .price(25.99)
+                .build();
+
+        Book book2 = Book.builder()
+                .title("The Hobbit")
+                .description("A fantasy novel about Bilbo Baggins, who finds a magic ring.")
+                .author("J. R. R. Tolkien")
+                .genre(Genre.FANTASY)
+                .year(Year.of(1937))
+                .price(19.99)
+                .build();
+
+        Book book3 = Book.builder()
+                .title("1984")
+                .description("George Orwell's dystopian novel, 50% of which is about surveillance.")
+                .author("George Orwell")
+                .genre(Genre.SCIENCE_FICTION)
+                .year(Year.of(1949))
+                .price(12.99)
+                .build();
+
+        return List.of(book1, book2, book3);
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.book_management.repository;
+
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import com.app.book_management.utils.SecondLevelCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class BookSearchRepositoryPostgreSqlTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void saveTestBooks() {
+        bookRepository.deleteAll();
+        final List<Book> books = new ArrayList<>();
+        IntStream.range(0, 5).forEach(i -> books.add(book("The Dragon Reborn", "A novel about the return of a prophesied hero.")));
+        IntStream.range(0, 3).forEach(i -> books.add(book("The Wheel of Time", "A hero is hunted by a dragon.")));
+        books.add(book("The Eye of the World", "A village is attacked by trollocs."));
+        bookRepository.saveAllAndFlush(books);
+    }
+
+    @Test
+    void searchByKeywords_ranksTitleMatchesFirst() {
+        final List<RankedBook> found = bookRepository.searchByKeywords("dragons", null, 0L, 10);
+
+        assertEquals(8, found.size());
+        assertTrue(found.subList(0, 5).stream().allMatch(ranked -> ranked.getBook().getTitle().equals("The Dragon Reborn")));
+        assertTrue(found.get(4).getRank() > found.get(5).getRank());
+    }
+
+    @Test
+    void searchByKeywords_pagesAcrossEqualRanksWithoutGapsOrDuplicates() {
+        final List<Long> expected = bookRepository.searchByKeywords("dragon", null, 0L, 10).stream()
+                .map(ranked -> ranked.getBook().getId())
+                .toList();
+
+        final List<RankedBook> paged = new ArrayList<>();
+        List<RankedBook> page = bookRepository.searchByKeywords("dragon", null, 0L, 2);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            final RankedBook last = page.get(page.size() - 1);
+            page = bookRepository.searchByKeywords("dragon", last.getRank(), last.getBook().getId(), 2);
+        }
+
+        assertEquals(8, expected.size());
+        assertEquals(expected, paged.stream().map(ranked -> ranked.getBook().getId()).toList());
+        for (int i = 1; i < paged.size(); i++) {
+            assertTrue(paged.get(i - 1).getRank() >= paged.get(i).getRank());
+        }
+    }
+
+    private static Book book(final String title, final String description) {
+        return Book.builder()
+                .title(title)
+                .description(description)
+                .author("Robert Jordan")
+                .genre(Genre.FANTASY)
+                .year(Year.of(1991))
+                .price(9.99)
+                .ratings(List.of(4))
+                .build();
+    }
+}
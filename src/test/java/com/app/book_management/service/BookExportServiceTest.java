@@ -0,0 +1,45 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookExportServiceTest {
+
+    @Autowired
+    private BookExportService bookExportService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportBooks_writesOneBookPerLineOrderedById() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final long exported = bookExportService.exportBooks(output);
+
+        final String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(bookRepository.count(), exported);
+        assertEquals(exported, lines.length);
+        final List<Long> ids = new ArrayList<>();
+        for (final String line : lines) {
+            final BookResponseDto book = objectMapper.readValue(line, BookResponseDto.class);
+            assertNotNull(book.getTitle());
+            ids.add(book.getId());
+        }
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+}
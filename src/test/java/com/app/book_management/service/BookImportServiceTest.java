@@ -0,0 +1,73 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookImportReportDto;
+import com.app.book_management.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void importBooks_fromNdjson_reportsInvalidRecords() throws IOException {
+        final long booksBefore = bookRepository.count();
+        final String body = book("Dune", "Frank Herbert", "\"SCIENCE_FICTION\"") + "\n"
+                + book("", "Nobody", "\"FICTION\"") + "\n"
+                + book("Emma", "Jane Austen", "\"NOT_A_GENRE\"") + "\n"
+                + book("Persuasion", "Jane Austen", "\"ROMANCE\"") + "\n";
+
+        final BookImportReportDto report = importBooks(body);
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertFalse(report.isAborted());
+        assertEquals(1, report.getErrors().get(0).getRecord());
+        assertEquals(2, report.getErrors().get(1).getRecord());
+        assertEquals(booksBefore + 2, bookRepository.count());
+    }
+
+    @Test
+    void importBooks_fromJsonArray_isolatesRecordsFailingInDatabase() throws IOException {
+        final long booksBefore = bookRepository.count();
+        final String tooLongDescription = "a".repeat(300);
+        final String body = "[" + book("Ulysses", "James Joyce", "\"FICTION\"") + ","
+                + book("Dubliners", "James Joyce", "\"FICTION\"").replace("A description.", tooLongDescription) + "]";
+
+        final BookImportReportDto report = importBooks(body);
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(1, report.getErrors().get(0).getRecord());
+        assertEquals(booksBefore + 1, bookRepository.count());
+    }
+
+    @Test
+    void importBooks_withMalformedJson_abortsAndKeepsPreviousRecords() throws IOException {
+        final long booksBefore = bookRepository.count();
+        final String body = book("Middlemarch", "George Eliot", "\"FICTION\"") + "\n{\"title\": ";
+
+        final BookImportReportDto report = importBooks(body);
+        assertTrue(report.isAborted());
+        assertEquals(1, report.getImported());
+        assertEquals(booksBefore + 1, bookRepository.count());
+    }
+
+    private BookImportReportDto importBooks(final String body) throws IOException {
+        return bookImportService.importBooks(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String book(final String title, final String author, final String genre) {
+        return "{\"title\": \"" + title + "\", \"description\": \"A description.\", \"author\": \"" + author
+                + "\", \"genre\": " + genre + ", \"year\": 1950, \"price\": 9.99}";
+    }
+}
@@ -0,0 +1,123 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.repository.RatedBook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookLeaderboardServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CatalogVersionService catalogVersionService = new CatalogVersionService();
+    private BookLeaderboardService bookLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        bookLeaderboardService = new BookLeaderboardService(bookRepository, transactionManager, catalogVersionService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookLeaderboardService.stop();
+    }
+
+    @Test
+    void load_ranksBooksPerGenreByAverageRatingAndRatingCount() {
+        when(bookRepository.streamRatedBooks()).thenReturn(Stream.of(book(1L, Genre.FANTASY, 2L, 8L),
+                book(2L, Genre.FANTASY, 1L, 5L), book(3L, Genre.FANTASY, 3L, 15L), book(4L, Genre.MYSTERY, 0L, 0L)));
+
+        bookLeaderboardService.load();
+
+        assertEquals(List.of(3L, 2L, 1L), ids(bookLeaderboardService.getTopBooks(Genre.FANTASY, 10)));
+        assertEquals(List.of(3L), ids(bookLeaderboardService.getTopBooks(Genre.FANTASY, 1)));
+        assertEquals(List.of(4L), ids(bookLeaderboardService.getTopBooks(Genre.MYSTERY, 10)));
+        assertTrue(bookLeaderboardService.getTopBooks(Genre.ROMANCE, 10).isEmpty());
+    }
+
+    @Test
+    void booksChanged_reranksChangedBooksAndRemovesDeletedBooks() throws InterruptedException {
+        when(bookRepository.streamRatedBooks()).thenReturn(Stream.of(book(1L, Genre.FANTASY, 1L, 3L),
+                book(2L, Genre.FANTASY, 1L, 4L), book(3L, Genre.FANTASY, 1L, 5L)));
+        bookLeaderboardService.load();
+        when(bookRepository.findRatedBooks(List.of(1L, 3L))).thenReturn(List.of(book(1L, Genre.FANTASY, 2L, 10L)));
+
+        bookLeaderboardService.booksChanged(List.of(1L, 3L));
+        assertTrue(bookLeaderboardService.awaitRefreshed(TIMEOUT));
+        bookLeaderboardService.booksChanged(List.of(1L, 3L));
+        assertTrue(bookLeaderboardService.awaitRefreshed(TIMEOUT));
+
+        assertEquals(List.of(1L, 2L), ids(bookLeaderboardService.getTopBooks(Genre.FANTASY, 10)));
+        assertEquals(5, bookLeaderboardService.getTopBooks(Genre.FANTASY, 1).get(0).getOverallRating());
+    }
+
+    @Test
+    void booksChanged_bumpsLeaderboardVersionOnceTopBooksArePublished() throws InterruptedException {
+        when(bookRepository.streamRatedBooks()).thenReturn(Stream.of(book(1L, Genre.FANTASY, 1L, 3L)));
+        bookLeaderboardService.load();
+        final String loadedETag = catalogVersionService.getLeaderboardETag();
+        final CountDownLatch refreshing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(bookRepository.findRatedBooks(List.of(1L))).thenAnswer(invocation -> {
+            refreshing.countDown();
+            assertTrue(release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+            return List.of(book(1L, Genre.FANTASY, 2L, 10L));
+        });
+
+        bookLeaderboardService.booksChanged(List.of(1L));
+        assertTrue(refreshing.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        assertEquals(loadedETag, catalogVersionService.getLeaderboardETag());
+        release.countDown();
+
+        assertTrue(bookLeaderboardService.awaitRefreshed(TIMEOUT));
+        assertNotEquals(loadedETag, catalogVersionService.getLeaderboardETag());
+        assertEquals(5, bookLeaderboardService.getTopBooks(Genre.FANTASY, 1).get(0).getOverallRating());
+    }
+
+    @Test
+    void booksChanged_whenRefreshFails_retriesRefresh() throws InterruptedException {
+        when(bookRepository.streamRatedBooks()).thenReturn(Stream.of(book(1L, Genre.FANTASY, 1L, 3L),
+                book(2L, Genre.FANTASY, 1L, 4L)));
+        bookLeaderboardService.load();
+        when(bookRepository.findRatedBooks(List.of(1L)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(book(1L, Genre.FANTASY, 2L, 10L)));
+
+        bookLeaderboardService.booksChanged(List.of(1L));
+
+        assertTrue(bookLeaderboardService.awaitRefreshed(TIMEOUT));
+        assertEquals(List.of(1L, 2L), ids(bookLeaderboardService.getTopBooks(Genre.FANTASY, 10)));
+    }
+
+    private static List<Long> ids(final List<BookResponseDto> books) {
+        return books.stream().map(BookResponseDto::getId).toList();
+    }
+
+    private static RatedBook book(final Long id, final Genre genre, final Long ratingCount, final Long ratingSum) {
+        return new RatedBook(id, "Dune", genre, "Frank Herbert", Year.of(1965), 9.99, ratingCount, ratingSum);
+    }
+}
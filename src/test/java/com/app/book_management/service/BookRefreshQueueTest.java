@@ -0,0 +1,63 @@
+package com.app.book_management.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookRefreshQueueTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<List<Long>> refreshes = new CopyOnWriteArrayList<>();
+    private BookRefreshQueue refreshQueue;
+
+    @AfterEach
+    void tearDown() {
+        refreshQueue.stop();
+    }
+
+    @Test
+    void submit_coalescesIdsSubmittedDuringRefresh() throws InterruptedException {
+        final CountDownLatch refreshing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        refreshQueue = new BookRefreshQueue("test-refresher", bookIds -> {
+            refreshes.add(bookIds);
+            refreshing.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        });
+
+        refreshQueue.submit(List.of(1L));
+        assertTrue(refreshing.await(10, TimeUnit.SECONDS));
+        refreshQueue.submit(List.of(2L, 3L));
+        refreshQueue.submit(List.of(3L));
+        release.countDown();
+
+        assertTrue(refreshQueue.awaitIdle(TIMEOUT));
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L)), refreshes);
+    }
+
+    @Test
+    void submit_whenRefreshFails_retriesIds() throws InterruptedException {
+        refreshQueue = new BookRefreshQueue("test-refresher", bookIds -> {
+            refreshes.add(bookIds);
+            return refreshes.size() > 1;
+        });
+
+        refreshQueue.submit(List.of(1L, 2L));
+
+        assertTrue(refreshQueue.awaitIdle(TIMEOUT));
+        assertEquals(List.of(List.of(1L, 2L), List.of(1L, 2L)), refreshes);
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.book_management.service;
+
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.utils.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.time.Year;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class BookServiceCachingTest {
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private CacheManager cacheManager;
+    @MockBean
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.BOOKS_CACHE).clear();
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(loadTestBook()));
+    }
+
+    @Test
+    void getById_isServedFromCache() throws ApplicationException {
+        final var first = bookService.getById(1L);
+        final var second = bookService.getById(1L);
+
+        assertEquals(first, second);
+        verify(bookRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void rateBook_evictsCachedBook() throws ApplicationException {
+        when(bookRepository.addRating(1L, 5)).thenReturn(1);
+
+        bookService.getById(1L);
+        bookService.rateBook(1L, 5);
+        bookService.getById(1L);
+
+        verify(bookRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void deleteBookById_evictsCachedBook() throws ApplicationException {
+        bookService.getById(1L);
+        bookService.deleteBookById(1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.BOOKS_CACHE).get(1L));
+    }
+
+    @Test
+    void getById_doesNotCacheMissingBook() {
+        assertThrows(ApplicationException.class, () -> bookService.getById(2L));
+        assertThrows(ApplicationException.class, () -> bookService.getById(2L));
+
+        verify(bookRepository, times(2)).findById(2L);
+    }
+
+    Book loadTestBook() {
+        return Book.builder()
+                .id(1L)
+                .title("1984")
+                .description("George Orwell's dystopian novel about totalitarianism and government surveillance.")
+                .author("George Orwell")
+                .genre(Genre.SCIENCE_FICTION)
+                .year(Year.of(1949))
+                .price(12.99)
+                .build();
+    }
+}
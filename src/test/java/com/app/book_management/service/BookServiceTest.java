@@ -4,20 +4,29 @@ import com.app.book_management.dto.BookResponseDto;
 import com.app.book_management.exception.ApplicationException;
 import com.app.book_management.mapper.BookMapper;
 import com.app.book_management.model.Book;
+import com.app.book_management.model.BookField;
 import com.app.book_management.model.Genre;
 import com.app.book_management.repository.BookRepository;
+import com.app.book_management.repository.CatalogBook;
+import com.app.book_management.repository.RankedBook;
+import com.app.book_management.utils.BookFieldSelector;
+import com.app.book_management.utils.CacheConfig;
+import com.app.book_management.utils.CursorCodec;
 import com.app.book_management.validator.BookValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.time.Year;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +40,20 @@ class BookServiceTest {
     private BookValidator bookValidator;
     @Mock
     private BookMapper bookMapper;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private RatingBuffer ratingBuffer;
+    @Mock
+    private InMemoryCatalog inMemoryCatalog;
+    @Mock
+    private BookSuggestionService bookSuggestionService;
+    @Mock
+    private BookLeaderboardService bookLeaderboardService;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache booksCache;
 
     @Test
     void findBookById() {
@@ -42,6 +65,101 @@ class BookServiceTest {
         assertThrows(ApplicationException.class, () -> bookService.getById(null));
     }
 
+    @Test
+    void getById_usesRatingAggregates() throws ApplicationException {
+        final var book = loadTestBooks().get(0);
+        book.recalculateRatingAggregates();
+
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookMapper.bookToBookResponseDto(book)).thenReturn(BookResponseDto.builder().id(1L).build());
+
+        final var dto = bookService.getById(1L);
+        assertEquals(calculateOverallRating(book.getRatings()), dto.getOverallRating());
+        assertEquals(7L, book.getRatingCount());
+        assertEquals(4, book.getRoundedAverageRating());
+    }
+
+    @Test
+    void getById_whenCatalogLoaded_readsFromCatalog() {
+        final CatalogBook book = new CatalogBook(1L, "Dune", "A description.", Genre.SCIENCE_FICTION, "Frank Herbert",
+                Year.of(1965), 9.99, 1, null);
+        when(inMemoryCatalog.snapshot()).thenReturn(Optional.of(CatalogSnapshot.of(List.of(book))));
+
+        assertThrows(ApplicationException.class, () -> bookService.getById(2L));
+        assertDoesNotThrow(() -> assertEquals("Dune", bookService.getById(1L).getTitle()));
+        verify(bookRepository, never()).findById(any());
+    }
+
+    @Test
+    void getById_withFields_copiesCachedBook() throws ApplicationException {
+        final BookResponseDto cachedBook = new BookResponseDto(1L, "Dune", "A description.", Genre.SCIENCE_FICTION,
+                "Frank Herbert", Year.of(1965), 9.99, 4);
+        when(inMemoryCatalog.snapshot()).thenReturn(Optional.empty());
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(booksCache);
+        when(booksCache.get(1L, BookResponseDto.class)).thenReturn(cachedBook);
+
+        final var dto = bookService.getById(1L, "title, price");
+        assertEquals(BookResponseDto.builder().id(1L).title("Dune").price(9.99).build(), dto);
+        assertEquals("A description.", cachedBook.getDescription());
+        verify(bookRepository, never()).findBooks(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getById_withUnknownField() {
+        assertThrows(ApplicationException.class, () -> bookService.getById(1L, "title,isbn"));
+        verify(bookRepository, never()).findBooks(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void filterByAuthor_withFields_selectsOnlyFieldColumns() throws ApplicationException {
+        when(inMemoryCatalog.snapshot()).thenReturn(Optional.empty());
+        when(bookRepository.findBooks(any(), eq(EnumSet.of(BookField.ID, BookField.TITLE)), eq(0L), eq(51)))
+                .thenReturn(List.of(BookResponseDto.builder().id(1L).title("1984").build()));
+
+        final var page = bookService.filterByAuthor("George Orwell", null, 50, "title");
+        assertEquals("1984", page.getBooks().get(0).getTitle());
+        verify(bookRepository, never()).findBooksByAuthor(any(), any(), any());
+    }
+
+    @Test
+    void rateBook_whenBookNotFound() throws ApplicationException {
+        doNothing().when(bookValidator).validateBookRating(anyInt());
+        when(bookRepository.addRating(1L, 5)).thenReturn(0);
+
+        assertThrows(ApplicationException.class, () -> bookService.rateBook(1L, 5));
+        verify(bookRepository, never()).findById(any());
+        verify(bookRepository, never()).insertRating(any(), any());
+    }
+
+    @Test
+    void rateBook_appendsRatingWithoutLoadingBook() throws ApplicationException {
+        doNothing().when(bookValidator).validateBookRating(anyInt());
+        when(bookRepository.addRating(1L, 5)).thenReturn(1);
+
+        bookService.rateBook(1L, 5);
+        verify(bookRepository).insertRating(1L, 5);
+        verify(bookLeaderboardService).booksChanged(List.of(1L));
+        verify(bookRepository, never()).findById(any());
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void bufferRating_submitsRatingOfExistingBook() throws ApplicationException {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(loadTestBooks().get(0)));
+
+        bookService.bufferRating(1L, 5);
+        verify(ratingBuffer).submit(1L, 5);
+        verify(bookRepository, never()).addRating(any(), any());
+    }
+
+    @Test
+    void bufferRating_whenBookNotFound() throws ApplicationException {
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ApplicationException.class, () -> bookService.bufferRating(1L, 5));
+        verify(ratingBuffer, never()).submit(any(), any());
+    }
+
     @Test
     void deleteBookById() {
         assertThrows(ApplicationException.class, () -> bookService.deleteBookById(null));
@@ -49,86 +167,123 @@ class BookServiceTest {
 
     @Test
     void findAllBooks() {
-        assertThrows(ApplicationException.class, () -> bookService.findAllBooks());
+        assertThrows(ApplicationException.class, () -> bookService.findAllBooks(0L, 50, BookFieldSelector.ALL_FIELDS));
     }
 
     @Test
     void getAllBooks() {
-        assertThrows(ApplicationException.class, () -> bookService.getAllBooks());
+        assertThrows(ApplicationException.class, () -> bookService.getAllBooks(null, 50, null));
     }
 
     @Test
     void filterByAuthor() throws ApplicationException {
-        final var testBooks = loadTestBooks();
-        final var expectedDto = loadTestBookResponseDtos().get(3);
+        final var expectedBooks = List.of(loadTestBookResponseDtos().get(3));
 
         doNothing().when(bookValidator).validateStringFilter(anyString());
-        when(bookRepository.findAll()).thenReturn(testBooks);
-        when(bookMapper.booksToBookResponseDtos(anyList())).thenReturn(List.of(expectedDto));
+        when(bookRepository.findBooksByAuthor(eq("George Orwell"), eq(0L), any())).thenReturn(expectedBooks);
 
-        final var filteredBooks = bookService.filterByAuthor("George Orwell");
-        assertEquals(1, filteredBooks.size());
-        assertEquals("George Orwell", filteredBooks.get(0).getAuthor());
+        final var filteredBooks = bookService.filterByAuthor("George Orwell", null, 50, null);
+        assertEquals(1, filteredBooks.getBooks().size());
+        assertEquals("George Orwell", filteredBooks.getBooks().get(0).getAuthor());
+        assertNull(filteredBooks.getNextCursor());
+        verify(bookRepository, never()).findAll();
     }
 
     @Test
     void searchByKeyword() throws ApplicationException {
-        final var testBooks = loadTestBooks();
-        final var expectedDto1 = loadTestBookResponseDtos().get(2);
-        final var expectedDto2 = loadTestBookResponseDtos().get(3);
+        final var expectedBooks = List.of(loadTestBookResponseDtos().get(2), loadTestBookResponseDtos().get(3));
+        final var rankedBooks = List.of(new RankedBook(expectedBooks.get(0), 0.6), new RankedBook(expectedBooks.get(1), 0.2));
 
         doNothing().when(bookValidator).validateStringFilter(anyString());
-        when(bookRepository.findAll()).thenReturn(testBooks);
-        when(bookMapper.booksToBookResponseDtos(anyList())).thenReturn(List.of(expectedDto1, expectedDto2));
+        when(bookRepository.searchByKeywords("racial novel", null, 0L, 51)).thenReturn(rankedBooks);
 
-        final var filteredBooks = bookService.searchByKeyword("in");
-        assertEquals(2, filteredBooks.size());
+        final var filteredBooks = bookService.searchByKeyword("racial novel", null, 50);
+        assertEquals(expectedBooks, filteredBooks.getBooks());
+        assertNull(filteredBooks.getNextCursor());
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void searchByKeyword_returnsRankedNextCursor() throws ApplicationException {
+        final var rankedBooks = List.of(new RankedBook(loadTestBookResponseDtos().get(2), 0.6),
+                new RankedBook(loadTestBookResponseDtos().get(3), 0.2));
+
+        doNothing().when(bookValidator).validateStringFilter(anyString());
+        when(bookRepository.searchByKeywords("novel", null, 0L, 2)).thenReturn(rankedBooks);
+
+        final var filteredBooks = bookService.searchByKeyword("novel", null, 1);
+        assertEquals(1, filteredBooks.getBooks().size());
+
+        final var cursor = CursorCodec.decodeRanked(filteredBooks.getNextCursor());
+        assertEquals(0.6, cursor.getRank());
+        assertEquals(3L, cursor.getId());
     }
 
     @Test
     void filterByTitle() throws ApplicationException {
-        final var testBooks = loadTestBooks();
-        final var expectedDto = loadTestBookResponseDtos().get(2);
+        final var expectedBooks = List.of(loadTestBookResponseDtos().get(2));
 
         doNothing().when(bookValidator).validateStringFilter(anyString());
-        when(bookRepository.findAll()).thenReturn(testBooks);
-        when(bookMapper.booksToBookResponseDtos(anyList())).thenReturn(List.of(expectedDto));
+        when(bookRepository.findBooksByTitle(eq("To Kill a Mockingbird"), eq(0L), any())).thenReturn(expectedBooks);
 
-        final var filteredBooks = bookService.searchByKeyword("To Kill a Mockingbird");
-        assertEquals(1, filteredBooks.size());
+        final var filteredBooks = bookService.filterByTitle("To Kill a Mockingbird", null, 50, null);
+        assertEquals(1, filteredBooks.getBooks().size());
+        verify(bookRepository, never()).findAll();
     }
 
     @Test
     void filterInPriceRange() throws ApplicationException {
-        final var testBooks = loadTestBooks();
-        final var expectedDto1 = loadTestBookResponseDtos().get(0);
-        final var expectedDto2 = loadTestBookResponseDtos().get(2);
+        final var expectedBooks = List.of(loadTestBookResponseDtos().get(0), loadTestBookResponseDtos().get(2));
 
         doNothing().when(bookValidator).validatePriceRange(anyDouble(), anyDouble());
-        when(bookRepository.findAll()).thenReturn(testBooks);
-        when(bookMapper.booksToBookResponseDtos(anyList())).thenReturn(List.of(expectedDto1, expectedDto2));
+        when(bookRepository.findBooksInPriceRange(eq(15.0), eq(22.0), eq(0L), any())).thenReturn(expectedBooks);
 
-        final var filteredBooks = bookService.filterInPriceRange(15.0, 22.0);
-        assertEquals(2, filteredBooks.size());
+        final var filteredBooks = bookService.filterInPriceRange(15.0, 22.0, null, 50, null);
+        assertEquals(2, filteredBooks.getBooks().size());
+        verify(bookRepository, never()).findAll();
     }
 
     @Test
     void filterByYear() throws ApplicationException {
-        final var testBooks = loadTestBooks();
-        final var expectedDto1 = loadTestBookResponseDtos().get(0);
+        final var expectedBooks = List.of(loadTestBookResponseDtos().get(0));
 
         doNothing().when(bookValidator).validateBookYear(any());
-        when(bookRepository.findAll()).thenReturn(testBooks);
-        when(bookMapper.booksToBookResponseDtos(anyList())).thenReturn(List.of(expectedDto1));
+        when(bookRepository.findBooksByYear(eq(Year.of(2000)), eq(0L), any())).thenReturn(expectedBooks);
+
+        final var filteredBooks = bookService.filterByYear(Year.of(2000), null, 50, null);
+        assertEquals(1, filteredBooks.getBooks().size());
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllBooks_returnsNextCursorWhenMoreBooksExist() throws ApplicationException {
+        final var testBooks = loadTestBookResponseDtos();
+
+        when(bookRepository.findBooksAfter(eq(0L), any())).thenReturn(testBooks);
 
-        final var filteredBooks = bookService.filterByYear(Year.of(2000));
-        assertEquals(1, filteredBooks.size());
+        final var page = bookService.getAllBooks(null, 3, null);
+        assertEquals(testBooks.subList(0, 3), page.getBooks());
+        assertEquals(CursorCodec.encode(3L), page.getNextCursor());
+    }
+
+    @Test
+    void getAllBooks_startsAfterCursor() throws ApplicationException {
+        when(bookRepository.findBooksAfter(eq(3L), any())).thenReturn(List.of());
+
+        final var page = bookService.getAllBooks(CursorCodec.encode(3L), 3, null);
+        assertTrue(page.getBooks().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getAllBooks_withInvalidCursor() {
+        assertThrows(ApplicationException.class, () -> bookService.getAllBooks("not a cursor", 3, null));
     }
 
     @Test
     void filterByGenre() {
         final var genre = "anotherGenre";
-        assertThrows(IllegalArgumentException.class, () -> bookService.filterByGenre(Genre.valueOf(genre)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.filterByGenre(Genre.valueOf(genre), null, 50, null));
     }
 
     @Test
@@ -0,0 +1,100 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSuggestionDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.model.SuggestionField;
+import com.app.book_management.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSuggestionServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSuggestionService bookSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.streamAllBooks()).thenReturn(Stream.of(
+                bookDto(1L, "The Hobbit", "J. R. R. Tolkien"),
+                bookDto(2L, "The Lord of the Rings", "J. R. R. Tolkien"),
+                bookDto(3L, "Harry Potter and the Chamber of Secrets", "J. K. Rowling")));
+        bookSuggestionService = new BookSuggestionService(bookRepository, transactionManager);
+        bookSuggestionService.load();
+    }
+
+    @Test
+    void suggest_matchesPrefixIgnoringCaseInAlphabeticalOrder() {
+        assertEquals(List.of(new BookSuggestionDto("The Hobbit", SuggestionField.TITLE),
+                        new BookSuggestionDto("The Lord of the Rings", SuggestionField.TITLE)),
+                bookSuggestionService.suggest("THE ", 10));
+        assertEquals(List.of(new BookSuggestionDto("J. K. Rowling", SuggestionField.AUTHOR)),
+                bookSuggestionService.suggest("j.", 1));
+        assertTrue(bookSuggestionService.suggest("dune", 10).isEmpty());
+    }
+
+    @Test
+    void load_readsFromPrimaryDatabase() {
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void load_whenBooksCanNotBeRead_leavesIndexEmpty() {
+        when(bookRepository.streamAllBooks()).thenThrow(new DataAccessResourceFailureException("down"));
+        final BookSuggestionService failedService = new BookSuggestionService(bookRepository, transactionManager);
+
+        assertDoesNotThrow(failedService::load);
+        assertTrue(failedService.suggest("the", 10).isEmpty());
+    }
+
+    @Test
+    void booksDeleted_keepsSuggestionsOfRemainingBooks() {
+        bookSuggestionService.booksDeleted(List.of(book(1L, "The Hobbit", "J. R. R. Tolkien")));
+        bookSuggestionService.booksDeleted(List.of(book(1L, "The Hobbit", "J. R. R. Tolkien")));
+
+        assertEquals(List.of(new BookSuggestionDto("The Lord of the Rings", SuggestionField.TITLE)),
+                bookSuggestionService.suggest("the", 10));
+        assertEquals(List.of(new BookSuggestionDto("J. R. R. Tolkien", SuggestionField.AUTHOR)),
+                bookSuggestionService.suggest("j. r", 10));
+    }
+
+    @Test
+    void booksAdded_isIdempotentPerBook() {
+        final Book dune = book(4L, "Dune", "Frank Herbert");
+        bookSuggestionService.booksAdded(List.of(dune));
+        bookSuggestionService.booksAdded(List.of(dune));
+        assertEquals(1, bookSuggestionService.suggest("du", 10).size());
+
+        bookSuggestionService.booksDeleted(List.of(dune));
+        assertTrue(bookSuggestionService.suggest("du", 10).isEmpty());
+        assertTrue(bookSuggestionService.suggest("frank", 10).isEmpty());
+    }
+
+    private static BookResponseDto bookDto(final Long id, final String title, final String author) {
+        return BookResponseDto.builder().id(id).title(title).author(author).build();
+    }
+
+    private static Book book(final Long id, final String title, final String author) {
+        return Book.builder().id(id).title(title).author(author).build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
+import com.app.book_management.model.BookSortField;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.CatalogBook;
+import com.app.book_management.repository.SortedBook;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Year;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(loadTestBooks());
+
+    @Test
+    void findBooksAfter_continuesAfterId() {
+        assertEquals(List.of(1L, 2L), ids(snapshot.findBooksAfter(0L, 2)));
+        assertEquals(List.of(3L), ids(snapshot.findBooksAfter(2L, 2)));
+        assertEquals(3, snapshot.size());
+    }
+
+    @Test
+    void findBook_returnsNewDtoEveryTime() {
+        final BookResponseDto book = snapshot.findBook(2L).orElseThrow();
+        book.setTitle("Changed");
+
+        assertEquals("The Hobbit", snapshot.findBook(2L).orElseThrow().getTitle());
+        assertTrue(snapshot.findBook(-1L).isEmpty());
+    }
+
+    @Test
+    void findBooksByAuthor_ignoresCase() {
+        assertEquals(List.of(1L, 2L), ids(snapshot.findBooksByAuthor("j. r. r. TOLKIEN", 0L, 10)));
+        assertEquals(List.of(2L), ids(snapshot.findBooksByAuthor("J. R. R. Tolkien", 1L, 10)));
+        assertTrue(snapshot.findBooksByAuthor("Nobody", 0L, 10).isEmpty());
+    }
+
+    @Test
+    void findBooksInPriceRange_isInclusive() {
+        assertEquals(List.of(2L, 3L), ids(snapshot.findBooksInPriceRange(12.99, 19.99, 0L, 10)));
+        assertEquals(List.of(3L), ids(snapshot.findBooksInPriceRange(0.01, 100.0, 2L, 10)));
+        assertTrue(snapshot.findBooksInPriceRange(30.0, 40.0, 0L, 10).isEmpty());
+    }
+
+    @Test
+    void with_movesRefreshedBooksBetweenIndexes() {
+        final CatalogSnapshot refreshed = snapshot.with(List.of(2L, 3L, 4L), List.of(
+                book(2L, "The Hobbit", "J. R. R. Tolkien", Genre.FANTASY, 1937, 21.99, 4),
+                book(4L, "Animal Farm", "George Orwell", Genre.FICTION, 1945, 9.99, null)));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(refreshed.findBooksAfter(0L, 10)));
+        assertEquals(List.of(4L), ids(refreshed.findBooksByAuthor("george orwell", 0L, 10)));
+        assertEquals(List.of(2L), ids(refreshed.findBooksByAverageRating(4, 0L, 10)));
+        assertEquals(List.of(2L, 4L), ids(refreshed.findBooksInPriceRange(9.99, 21.99, 0L, 10)));
+        assertTrue(refreshed.findBooksByGenre(Genre.SCIENCE_FICTION, 0L, 10).isEmpty());
+
+        assertEquals(List.of(2L, 3L), ids(snapshot.findBooksInPriceRange(12.99, 19.99, 0L, 10)));
+        assertTrue(snapshot.findBooksByAverageRating(4, 0L, 10).isEmpty());
+    }
+
+    @Test
+    void searchBooks_combinesAllCriteria() {
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setKeyword("Magic  RING");
+        criteria.setAuthor("j. r. r. tolkien");
+        criteria.setMaxYear(Year.of(1950));
+
+        final List<SortedBook> found = snapshot.searchBooks(criteria, null, 0L, 10);
+        assertEquals(1, found.size());
+        assertEquals("The Hobbit", found.get(0).getBook().getTitle());
+    }
+
+    @Test
+    void searchBooks_sortsAndContinuesAfterCursor() {
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setSort(BookSortField.PRICE);
+        criteria.setDirection(Sort.Direction.DESC);
+
+        final List<SortedBook> firstPage = snapshot.searchBooks(criteria, null, 0L, 2);
+        assertEquals(List.of(25.99, 19.99), firstPage.stream().map(book -> book.getBook().getPrice()).toList());
+
+        final SortedBook last = firstPage.get(1);
+        final List<SortedBook> nextPage = snapshot.searchBooks(criteria, last.getSortKey(), last.getBook().getId(), 2);
+        assertEquals(1, nextPage.size());
+        assertEquals("1984", nextPage.get(0).getBook().getTitle());
+    }
+
+    @Test
+    void mergeIds_removesAndAddsInOrder() {
+        assertArrayEquals(new long[]{1L, 3L, 4L, 6L},
+                CatalogSnapshot.mergeIds(new long[]{1L, 2L, 3L, 5L}, new long[]{2L, 5L}, new long[]{4L, 6L}));
+        assertArrayEquals(new long[]{1L, 2L},
+                CatalogSnapshot.mergeIds(new long[]{1L, 2L}, new long[]{2L}, new long[]{2L}));
+        assertNull(CatalogSnapshot.mergeIds(new long[]{1L}, new long[]{1L}, new long[0]));
+    }
+
+    private static List<Long> ids(final List<BookResponseDto> books) {
+        return books.stream().map(BookResponseDto::getId).toList();
+    }
+
+    private static CatalogBook book(final Long id, final String title, final String author, final Genre genre,
+                                    final int year, final Double price, final Integer roundedAverageRating) {
+        return new CatalogBook(id, title, "A fantasy novel about Bilbo Baggins, who finds a magic ring.", genre, author,
+                Year.of(year), price, roundedAverageRating == null ? 1 : roundedAverageRating, roundedAverageRating);
+    }
+
+    private static List<CatalogBook> loadTestBooks() {
+        return List.of(
+                new CatalogBook(1L, "The Lord of the Rings: The Fellowship of the Ring",
+                        "An epic fantasy novel that tells the story of the first part of the journey of Frodo Baggins.",
+                        Genre.FANTASY, "J. R. R. Tolkien", Year.of(1954), 25.99, 1, null),
+                new CatalogBook(2L, "The Hobbit", "A fantasy novel about Bilbo Baggins, who finds a magic ring.",
+                        Genre.FANTASY, "J. R. R. Tolkien", Year.of(1937), 19.99, 1, null),
+                new CatalogBook(3L, "1984", "George Orwell's dystopian novel about surveillance.",
+                        Genre.SCIENCE_FICTION, "George Orwell", Year.of(1949), 12.99, 5, 5));
+    }
+}
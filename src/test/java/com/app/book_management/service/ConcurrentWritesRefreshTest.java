@@ -0,0 +1,77 @@
+package com.app.book_management.service;
+
+import com.app.book_management.dto.BookResponseDto;
+import com.app.book_management.model.Book;
+import com.app.book_management.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrent-writes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "book-management.catalog.in-memory.enabled=true"})
+class ConcurrentWritesRefreshTest {
+
+    private static final int WRITERS = 8;
+    private static final int RATINGS_PER_BOOK = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private InMemoryCatalog inMemoryCatalog;
+    @Autowired
+    private BookLeaderboardService bookLeaderboardService;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void rateBook_withSingleFreeConnection_refreshesCatalogAndLeaderboards() throws Exception {
+        final List<Book> books = bookRepository.findAll().stream().limit(4).toList();
+        final List<Long> bookIds = books.stream().map(Book::getId).toList();
+        final ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try (Connection held = dataSource.getConnection()) {
+            final List<Future<?>> ratings = new ArrayList<>();
+            for (final Long bookId : bookIds) {
+                for (int i = 0; i < RATINGS_PER_BOOK; i++) {
+                    ratings.add(writers.submit(() -> {
+                        bookService.rateBook(bookId, 1);
+                        return null;
+                    }));
+                }
+            }
+            for (final Future<?> rating : ratings) {
+                rating.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdown();
+        }
+
+        assertTrue(inMemoryCatalog.awaitRefreshed(TIMEOUT));
+        assertTrue(bookLeaderboardService.awaitRefreshed(TIMEOUT));
+        final CatalogSnapshot snapshot = inMemoryCatalog.snapshot().orElseThrow();
+        for (final Book book : books) {
+            assertEquals(1, snapshot.findBook(book.getId()).orElseThrow().getOverallRating());
+            final BookResponseDto ranked = bookLeaderboardService.getTopBooks(book.getGenre(), 100).stream()
+                    .filter(topBook -> topBook.getId().equals(book.getId()))
+                    .findFirst().orElseThrow();
+            assertEquals(1, ranked.getOverallRating());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.book_management.service;
+
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "book-management.catalog.in-memory.enabled=true")
+class InMemoryCatalogRefreshTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+    @Autowired
+    private InMemoryCatalog inMemoryCatalog;
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Test
+    void rateBook_whenReadBeforeRefresh_servesRatingWithNewVersionOnceRefreshed() throws Exception {
+        final Long bookId = bookRepository.save(Book.builder()
+                .title("Hyperion")
+                .description("Pilgrims travel to the Time Tombs.")
+                .author("Dan Simmons")
+                .genre(Genre.SCIENCE_FICTION)
+                .year(Year.of(1989))
+                .price(12.99)
+                .build()).getId();
+        inMemoryCatalog.booksChanged(List.of(bookId));
+        assertTrue(inMemoryCatalog.awaitRefreshed(TIMEOUT));
+        final CountDownLatch refreshing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            refreshing.countDown();
+            assertTrue(release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(bookRepository).findCatalogBooks(List.of(bookId));
+
+        bookService.rateBook(bookId, 5);
+        assertTrue(refreshing.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        final String bookETagBeforeRefresh = catalogVersionService.getBookETag(bookId);
+        final String catalogETagBeforeRefresh = catalogVersionService.getCatalogETag();
+        assertNotEquals(5, bookService.getById(bookId).getOverallRating());
+        release.countDown();
+
+        assertTrue(inMemoryCatalog.awaitRefreshed(TIMEOUT));
+        assertEquals(5, bookService.getById(bookId).getOverallRating());
+        assertNotEquals(bookETagBeforeRefresh, catalogVersionService.getBookETag(bookId));
+        assertNotEquals(catalogETagBeforeRefresh, catalogVersionService.getCatalogETag());
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.book_management.service;
+
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.repository.CatalogBook;
+import com.app.book_management.utils.CacheConfig;
+import com.app.book_management.utils.InMemoryCatalogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryCatalogTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache booksCache;
+
+    private final InMemoryCatalogProperties properties = new InMemoryCatalogProperties();
+    private InMemoryCatalog inMemoryCatalog;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(booksCache);
+        inMemoryCatalog = new InMemoryCatalog(bookRepository, transactionManager, catalogVersionService, cacheManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inMemoryCatalog.stop();
+    }
+
+    @Test
+    void load_whenDisabled_keepsReadingFromDatabase() {
+        properties.setEnabled(false);
+
+        inMemoryCatalog.load();
+        inMemoryCatalog.booksChanged(List.of(1L));
+
+        assertTrue(inMemoryCatalog.snapshot().isEmpty());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void booksChanged_refreshesChangedBooks() throws InterruptedException {
+        when(bookRepository.streamCatalogBooks()).thenReturn(Stream.of(book(1L, null), book(2L, null)));
+        inMemoryCatalog.load();
+        when(bookRepository.findCatalogBooks(List.of(1L, 2L))).thenReturn(List.of(book(1L, 5)));
+
+        inMemoryCatalog.booksChanged(List.of(1L, 2L));
+        assertTrue(inMemoryCatalog.awaitRefreshed(TIMEOUT));
+
+        final CatalogSnapshot snapshot = inMemoryCatalog.snapshot().orElseThrow();
+        assertEquals(1, snapshot.size());
+        assertEquals(5, snapshot.findBook(1L).orElseThrow().getOverallRating());
+        assertEquals(1, snapshot.findBooksByAverageRating(5, 0L, 10).size());
+        verify(booksCache).evict(1L);
+        verify(catalogVersionService).bookChanged(2L);
+    }
+
+    @Test
+    void booksChanged_whenRefreshFails_reloadsCatalog() throws InterruptedException {
+        when(bookRepository.streamCatalogBooks()).thenReturn(Stream.of(book(1L, null)), Stream.of(book(1L, 5)));
+        inMemoryCatalog.load();
+        when(bookRepository.findCatalogBooks(List.of(1L))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        inMemoryCatalog.booksChanged(List.of(1L));
+        assertTrue(inMemoryCatalog.awaitRefreshed(TIMEOUT));
+
+        final CatalogSnapshot snapshot = inMemoryCatalog.snapshot().orElseThrow();
+        assertEquals(5, snapshot.findBook(1L).orElseThrow().getOverallRating());
+        verify(bookRepository, times(2)).streamCatalogBooks();
+    }
+
+    private static CatalogBook book(final Long id, final Integer roundedAverageRating) {
+        return new CatalogBook(id, "Dune", "A description.", Genre.SCIENCE_FICTION, "Frank Herbert", Year.of(1965),
+                9.99, roundedAverageRating == null ? 1 : roundedAverageRating, roundedAverageRating);
+    }
+}
@@ -0,0 +1,178 @@
+package com.app.book_management.service;
+
+import com.app.book_management.exception.ApplicationException;
+import com.app.book_management.exception.ErrorCode;
+import com.app.book_management.repository.BookRepository;
+import com.app.book_management.utils.CacheConfig;
+import com.app.book_management.utils.RatingBufferProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingBufferTest {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private InMemoryCatalog inMemoryCatalog;
+    @Mock
+    private BookLeaderboardService bookLeaderboardService;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache booksCache;
+
+    private final RatingBufferProperties properties = new RatingBufferProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setFlushInterval(Duration.ofMinutes(1));
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(booksCache);
+    }
+
+    @Test
+    void stop_writesBufferedRatingsCoalescedPerBook() throws ApplicationException {
+        when(bookRepository.addRatings(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(1);
+        final RatingBuffer ratingBuffer = createRatingBuffer();
+        ratingBuffer.start();
+
+        ratingBuffer.submit(1L, 5);
+        ratingBuffer.submit(2L, 4);
+        ratingBuffer.submit(1L, 3);
+        ratingBuffer.stop();
+
+        verify(bookRepository).addRatings(1L, 2L, 8L, 0L, 0L, 1L, 0L, 1L);
+        verify(bookRepository).addRatings(2L, 1L, 4L, 0L, 0L, 0L, 1L, 0L);
+        verify(bookRepository).insertRatings(1L, List.of(5, 3));
+        verify(bookRepository).insertRatings(2L, List.of(4));
+        verify(booksCache).evict(1L);
+        verify(catalogVersionService).bookChanged(2L);
+        verify(inMemoryCatalog).booksChanged(Set.of(1L, 2L));
+        verify(bookLeaderboardService).booksChanged(Set.of(1L, 2L));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void stop_dropsRatingsOfDeletedBook() throws ApplicationException {
+        final RatingBuffer ratingBuffer = createRatingBuffer();
+        ratingBuffer.start();
+
+        ratingBuffer.submit(1L, 5);
+        ratingBuffer.stop();
+
+        verify(bookRepository, never()).insertRatings(any(), any());
+        verify(catalogVersionService, never()).bookChanged(any());
+    }
+
+    @Test
+    void flush_whenBookKeepsFailing_dropsItsRatingsAndWritesOthers() throws ApplicationException {
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setMaxWriteAttempts(2);
+        when(bookRepository.addRatings(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(1);
+        when(bookRepository.addRatings(eq(2L), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("rating violates a constraint"));
+        final RatingBuffer ratingBuffer = createRatingBuffer();
+        ratingBuffer.start();
+
+        ratingBuffer.submit(1L, 5);
+        ratingBuffer.submit(2L, 4);
+        verify(inMemoryCatalog, timeout(5000)).booksChanged(List.of(1L));
+        ratingBuffer.submit(3L, 3);
+        verify(bookRepository, timeout(5000)).insertRatings(3L, List.of(3));
+        ratingBuffer.stop();
+
+        verify(bookRepository, atLeastOnce()).insertRatings(1L, List.of(5));
+        verify(bookRepository, never()).insertRatings(eq(2L), any());
+        assertEquals(1, meterRegistry.counter(RatingBuffer.DROPPED_RATINGS_COUNTER).count());
+    }
+
+    @Test
+    void stop_whenBookKeepsFailing_dropsOnlyItsRatings() throws ApplicationException {
+        properties.setMaxWriteAttempts(1);
+        when(bookRepository.addRatings(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(1);
+        when(bookRepository.addRatings(eq(2L), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("rating violates a constraint"));
+        final RatingBuffer ratingBuffer = createRatingBuffer();
+        ratingBuffer.start();
+
+        ratingBuffer.submit(1L, 5);
+        ratingBuffer.submit(2L, 4);
+        ratingBuffer.submit(2L, 2);
+        ratingBuffer.stop();
+
+        verify(bookRepository, times(2)).insertRatings(1L, List.of(5));
+        verify(inMemoryCatalog).booksChanged(List.of(1L));
+        verify(bookRepository, never()).insertRatings(eq(2L), any());
+        assertEquals(2, meterRegistry.counter(RatingBuffer.DROPPED_RATINGS_COUNTER).count());
+    }
+
+    @Test
+    void submit_whenBufferFull_rejectsRating() throws Exception {
+        properties.setCapacity(1);
+        properties.setFlushSize(1);
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(bookRepository.addRatings(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    writing.countDown();
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                    return 1;
+                });
+        final RatingBuffer ratingBuffer = createRatingBuffer();
+        ratingBuffer.start();
+
+        ratingBuffer.submit(1L, 5);
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        ratingBuffer.submit(2L, 4);
+        final ApplicationException exception = assertThrows(ApplicationException.class, () -> ratingBuffer.submit(3L, 3));
+        assertEquals(ErrorCode.RATING_BUFFER_FULL_EXCEPTION, exception.getErrorCode());
+
+        release.countDown();
+        ratingBuffer.stop();
+        verify(bookRepository).insertRatings(1L, List.of(5));
+        verify(bookRepository).insertRatings(2L, List.of(4));
+    }
+
+    @Test
+    void submit_whenNotRunning_rejectsRating() {
+        final RatingBuffer ratingBuffer = createRatingBuffer();
+
+        assertThrows(ApplicationException.class, () -> ratingBuffer.submit(1L, 5));
+    }
+
+    private RatingBuffer createRatingBuffer() {
+        return new RatingBuffer(bookRepository, new TransactionTemplate(transactionManager), catalogVersionService,
+                inMemoryCatalog, bookLeaderboardService, cacheManager, meterRegistry, properties);
+    }
+}
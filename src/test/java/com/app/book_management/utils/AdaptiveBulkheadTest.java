@@ -0,0 +1,75 @@
+package com.app.book_management.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBulkheadTest {
+
+    @Test
+    void tryAcquire_whenQueueFull_rejectsImmediately() {
+        final AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(route(2, 0, Duration.ofMinutes(1)));
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release(0L);
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_waitsForReleasedPermit() throws Exception {
+        final AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(route(1, 1, Duration.ofMinutes(1)));
+        assertTrue(bulkhead.tryAcquire());
+
+        final CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(bulkhead::tryAcquire);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (bulkhead.getWaiting() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, bulkhead.getWaiting());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release(0L);
+        assertTrue(queued.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void release_adaptsLimitToLatency() {
+        final AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(route(10, 0, Duration.ZERO));
+        final long threshold = Duration.ofMillis(500).toNanos();
+
+        for (int i = 0; i < 20; i++) {
+            while (bulkhead.tryAcquire()) {
+                assertTrue(bulkhead.getInFlight() <= bulkhead.getLimit());
+            }
+            bulkhead.release(threshold / 2);
+        }
+        final int increasedLimit = bulkhead.getLimit();
+        assertTrue(increasedLimit > 10);
+
+        bulkhead.release(threshold * 2);
+        final int decreasedLimit = bulkhead.getLimit();
+        assertTrue(decreasedLimit < increasedLimit);
+
+        bulkhead.release(threshold * 2);
+        assertEquals(decreasedLimit, bulkhead.getLimit());
+    }
+
+    private BulkheadProperties.Route route(final int limit, final int queueSize, final Duration maxWait) {
+        final BulkheadProperties.Route route = new BulkheadProperties.Route();
+        route.setInitialLimit(limit);
+        route.setMinLimit(1);
+        route.setMaxLimit(100);
+        route.setQueueSize(queueSize);
+        route.setMaxWait(maxWait);
+        route.setLatencyThreshold(Duration.ofMillis(500));
+        return route;
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.book_management.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "book-management.bulkhead.routes.searchByKeyword.max-limit=0",
+        "book-management.bulkhead.routes.searchByKeyword.queue-size=0"})
+@AutoConfigureMockMvc
+class BulkheadInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void preHandle_whenRouteFull_rejectsWithRetryAfterWithoutAffectingOtherRoutes() throws Exception {
+        mockMvc.perform(get("/api/management/book/byKeyword/harry"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED_EXCEPTION"));
+        mockMvc.perform(get("/api/management/book/"))
+                .andExpect(status().isOk());
+
+        assertEquals(1.0, meterRegistry.get("book.bulkhead.requests")
+                .tags("route", "searchByKeyword", "outcome", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("book.bulkhead.requests")
+                .tags("route", "getAllBooks", "outcome", "admitted").counter().count());
+        assertEquals(0.0, meterRegistry.get("book.bulkhead.in.flight").tag("route", "getAllBooks").gauge().value());
+    }
+}
@@ -0,0 +1,61 @@
+package com.app.book_management.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_exposesRequestServiceRepositoryAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/management/book/")).andExpect(status().isOk());
+
+        final String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("http_server_requests_seconds_count"));
+        assertTrue(metrics.contains("book_service_seconds_bucket{class=\"com.app.book_management.service.BookService\""));
+        assertTrue(metrics.contains("spring_data_repository_invocations_seconds_count{exception=\"None\",method=\"findBooksAfter\""));
+        assertTrue(metrics.contains("book_request_queries_count{method=\"GET\",uri=\"/api/management/book/\"} 1"));
+        assertTrue(metrics.contains("hibernate_query_executions_total"));
+        assertTrue(metrics.contains("hikaricp_connections_max"));
+    }
+
+    @Test
+    void prometheusEndpoint_recordsQueriesOfAsyncExport() throws Exception {
+        final MvcResult export = mockMvc.perform(get("/api/management/book/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+
+        final String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        final Matcher exportQueries = Pattern
+                .compile("book_request_queries_sum\\{method=\"GET\",uri=\"/api/management/book/export\"} (\\S+)")
+                .matcher(metrics);
+        assertTrue(exportQueries.find());
+        assertTrue(Double.parseDouble(exportQueries.group(1)) > 0);
+    }
+}
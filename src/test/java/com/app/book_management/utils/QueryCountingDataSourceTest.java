@@ -0,0 +1,54 @@
+package com.app.book_management.utils;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryCountingDataSourceTest {
+
+    private final LongAdder queryCount = new LongAdder();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(h2));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS counted (id INT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCountingDataSource.stopCounting();
+        jdbcTemplate.execute("DROP TABLE counted");
+    }
+
+    @Test
+    void getConnection_countsStatementsExecutedWhileCounting() {
+        QueryCountingDataSource.startCounting(queryCount);
+
+        jdbcTemplate.update("INSERT INTO counted (id) VALUES (?)", 1);
+        jdbcTemplate.batchUpdate("INSERT INTO counted (id) VALUES (?)", List.of(new Object[]{2}, new Object[]{3}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counted", Long.class);
+
+        assertEquals(3, queryCount.sum());
+    }
+
+    @Test
+    void getConnection_ignoresStatementsExecutedOnOtherThreads() throws InterruptedException {
+        QueryCountingDataSource.startCounting(queryCount);
+
+        final Thread other = new Thread(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counted", Long.class));
+        other.start();
+        other.join();
+
+        assertEquals(0, queryCount.sum());
+    }
+}
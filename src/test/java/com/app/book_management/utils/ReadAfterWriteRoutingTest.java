@@ -0,0 +1,64 @@
+package com.app.book_management.utils;
+
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadAfterWriteRoutingTest.PRIMARY_URL,
+        "book-management.datasource.replica.jdbc-url=" + ReadAfterWriteRoutingTest.REPLICA_URL,
+        "book-management.datasource.replica.username=sa",
+        "book-management.datasource.read-after-write=1m"})
+@AutoConfigureMockMvc
+class ReadAfterWriteRoutingTest {
+
+    static final String PRIMARY_URL =
+            "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+    private static final String BOOKS_URL = "/api/management/book/";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration/common").load().migrate();
+    }
+
+    @Test
+    void rateBook_routesReadsOfWritingClientToPrimaryAndOtherClientsToReplica() throws Exception {
+        final Long bookId = new JdbcTemplate(primaryDataSource).queryForObject("SELECT MIN(id) FROM book", Long.class);
+        assertNotNull(bookId);
+        mockMvc.perform(get(BOOKS_URL)).andExpect(status().isNotFound());
+
+        final Cookie lastWrite = mockMvc.perform(post(BOOKS_URL + "rate/" + bookId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("4"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadAfterWriteFilter.LAST_WRITE_COOKIE);
+
+        assertNotNull(lastWrite);
+        mockMvc.perform(get(BOOKS_URL).cookie(lastWrite)).andExpect(jsonPath("$.books").isNotEmpty());
+        mockMvc.perform(get(BOOKS_URL)).andExpect(status().isNotFound());
+    }
+}
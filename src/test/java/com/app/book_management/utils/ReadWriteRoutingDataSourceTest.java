@@ -0,0 +1,131 @@
+package com.app.book_management.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private ReadWriteRoutingDataSource.ClientSession clientSession;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        ReadWriteRoutingDataSource.unbindClientSession();
+    }
+
+    @Test
+    void getConnection_readOnlyTransaction_routesToReplica() throws Exception {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routingDataSource().getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_readWriteTransaction_routesToPrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource().getConnection());
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_replicaUnavailable_fallsBackToPrimary() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica is down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource().getConnection());
+    }
+
+    @Test
+    void getConnection_afterReplicaFailure_skipsReplicaUntilRetry() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica is down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        final ReadWriteRoutingDataSource routingDataSource = routingDataSource();
+
+        routingDataSource.getConnection();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_afterRetryPeriod_probesReplicaAgain() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica is down"))
+                .thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        final ReadWriteRoutingDataSource routingDataSource = routingDataSource(Duration.ZERO);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_clientReadingFromPrimary_routesReadsToPrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(clientSession.readsFromPrimary()).thenReturn(true);
+        ReadWriteRoutingDataSource.bindClientSession(clientSession);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource().getConnection());
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_readWriteTransactionOfClient_marksWrite() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadWriteRoutingDataSource.bindClientSession(clientSession);
+
+        routingDataSource().getConnection();
+
+        verify(clientSession).wrote();
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource() {
+        return routingDataSource(Duration.ofMinutes(1));
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource(final Duration replicaRetry) {
+        final ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica, replicaRetry);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+}
@@ -0,0 +1,153 @@
+package com.app.book_management.utils;
+
+import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
+import com.app.book_management.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long bookId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void saveTestBook() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        bookRepository.deleteAll();
+        bookId = saveBook("The Hobbit");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void deleteTestBook() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void findById_readsUnchangedBookAndRatingsFromCache() {
+        findRatings(bookId);
+        statistics.clear();
+
+        assertEquals(List.of(5), findRatings(bookId));
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.BOOK_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.BOOK_RATINGS_REGION).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void addRating_invalidatesCachedBookAndRatings() {
+        findRatings(bookId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.addRating(bookId, 3);
+            bookRepository.insertRating(bookId, 3);
+        });
+
+        assertEquals(1L, bookRepository.findById(bookId).orElseThrow().getRatingCount());
+        assertEquals(List.of(5, 3), findRatings(bookId));
+    }
+
+    @Test
+    void addRating_evictsBookCachedByConcurrentLoadBeforeCommit() throws Exception {
+        final ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                bookRepository.addRating(bookId, 3);
+                try {
+                    assertEquals(0L, reader.submit(() -> transactionTemplate.execute(readStatus ->
+                            bookRepository.findById(bookId).orElseThrow().getRatingCount())).get(10, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            reader.shutdown();
+        }
+
+        assertEquals(1L, bookRepository.findById(bookId).orElseThrow().getRatingCount());
+    }
+
+    @Test
+    void addRating_keepsOtherBooksCached() {
+        final Long otherBookId = saveBook("The Silmarillion");
+        findRatings(bookId);
+        findRatings(otherBookId);
+
+        transactionTemplate.executeWithoutResult(status -> bookRepository.addRating(bookId, 3));
+        statistics.clear();
+
+        assertEquals(List.of(5), findRatings(otherBookId));
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.BOOK_REGION).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void addRating_invalidatesCachedQueryResults() {
+        bookRepository.findBooksByGenre(Genre.FANTASY, 0L, PageRequest.ofSize(10));
+
+        transactionTemplate.executeWithoutResult(status -> bookRepository.addRating(bookId, 3));
+
+        assertEquals(3, bookRepository.findBooksByGenre(Genre.FANTASY, 0L, PageRequest.ofSize(10)).get(0).getOverallRating());
+    }
+
+    @Test
+    void findBooksByGenre_readsRepeatedQueryFromQueryCache() {
+        bookRepository.findBooksByGenre(Genre.FANTASY, 0L, PageRequest.ofSize(10));
+        statistics.clear();
+
+        assertEquals(1, bookRepository.findBooksByGenre(Genre.FANTASY, 0L, PageRequest.ofSize(10)).size());
+
+        assertEquals(1, statistics.getQueryRegionStatistics(SecondLevelCacheConfig.BOOKS_BY_GENRE_REGION).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private Long saveBook(final String title) {
+        return bookRepository.save(Book.builder()
+                .title(title)
+                .description("A fantasy novel about Bilbo Baggins, who finds a magic ring.")
+                .author("J. R. R. Tolkien")
+                .genre(Genre.FANTASY)
+                .year(Year.of(1937))
+                .price(19.99)
+                .ratings(List.of(5))
+                .build()).getId();
+    }
+
+    private List<Integer> findRatings(final Long id) {
+        return transactionTemplate.execute(status -> List.copyOf(bookRepository.findById(id).orElseThrow().getRatings()));
+    }
+}
@@ -1,8 +1,10 @@
 package com.app.book_management.validator;
 
 import com.app.book_management.dto.BookRequestDto;
+import com.app.book_management.dto.BookSearchCriteriaDto;
 import com.app.book_management.exception.ApplicationException;
 import com.app.book_management.model.Book;
+import com.app.book_management.model.Genre;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -87,4 +89,72 @@ class BookValidatorTest {
         final Year year = null;
         assertThrows(ApplicationException.class, () -> bookValidator.validateBookYear(year));
     }
+
+    @Test
+    void validatePageLimit_withNullLimit() {
+        final Integer limit = null;
+        assertThrows(ApplicationException.class, () -> bookValidator.validatePageLimit(limit));
+    }
+
+    @Test
+    void validatePageLimit_withInvalidLimit() {
+        final Integer limit = BookValidator.MAX_PAGE_LIMIT + 1;
+        assertThrows(ApplicationException.class, () -> bookValidator.validatePageLimit(limit));
+    }
+
+    @Test
+    void validateTopBooksCount_withInvalidCount() {
+        final Integer count = BookValidator.MAX_TOP_BOOKS + 1;
+        assertThrows(ApplicationException.class, () -> bookValidator.validateTopBooksCount(count));
+    }
+
+    @Test
+    void validateNewBook_withBlankTitle() {
+        final BookRequestDto dto = loadValidBookRequestDto();
+        dto.setTitle(" ");
+        assertThrows(ApplicationException.class, () -> bookValidator.validateNewBook(dto));
+    }
+
+    @Test
+    void validateNewBook_withInvalidPrice() {
+        final BookRequestDto dto = loadValidBookRequestDto();
+        dto.setPrice(0.0);
+        assertThrows(ApplicationException.class, () -> bookValidator.validateNewBook(dto));
+    }
+
+    @Test
+    void validateNewBook_withValidBook() {
+        assertDoesNotThrow(() -> bookValidator.validateNewBook(loadValidBookRequestDto()));
+    }
+
+    @Test
+    void validateSearchCriteria_withInvalidPriceRange() {
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setMinPrice(30.0);
+        criteria.setMaxPrice(10.0);
+        assertThrows(ApplicationException.class, () -> bookValidator.validateSearchCriteria(criteria));
+    }
+
+    @Test
+    void validateSearchCriteria_withInvalidMinRating() {
+        final BookSearchCriteriaDto criteria = new BookSearchCriteriaDto();
+        criteria.setMinRating(6);
+        assertThrows(ApplicationException.class, () -> bookValidator.validateSearchCriteria(criteria));
+    }
+
+    @Test
+    void validateSearchCriteria_withoutCriteria() {
+        assertDoesNotThrow(() -> bookValidator.validateSearchCriteria(new BookSearchCriteriaDto()));
+    }
+
+    BookRequestDto loadValidBookRequestDto() {
+        return BookRequestDto.builder()
+                .year(Year.of(2000))
+                .price(15.99)
+                .title("Book title")
+                .author("Book author")
+                .genre(Genre.FANTASY)
+                .description("Book description")
+                .build();
+    }
 }
\ No newline at end of file